@@ -0,0 +1,59 @@
+package com.neutron.inventory_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.dto.ProductDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Serialización con Jackson de las páginas que devuelven los listados de ProductController
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    // Misma configuración base que el ObjectMapper de Spring Boot
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Page<ProductDTO> page;
+
+    @Setup
+    public void setUp() {
+        List<ProductDTO> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(ProductDTO.builder()
+                    .id((long) i)
+                    .name("Producto " + i)
+                    .description("Descripción del producto " + i)
+                    .sku("SKU-" + i)
+                    .stock(i % 100)
+                    .brand("Marca " + i % 20)
+                    .price(100 + i)
+                    .weight(0.5)
+                    .dimensions("100mm x 50mm")
+                    .status("Disponible")
+                    .imagePath("uploads/producto-" + i + ".png")
+                    .categoryNames(Set.of("celulares", "audio"))
+                    .tagNames(Set.of("oferta", "nuevo", "destacado"))
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
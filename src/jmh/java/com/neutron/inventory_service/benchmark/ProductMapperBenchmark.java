@@ -0,0 +1,85 @@
+package com.neutron.inventory_service.benchmark;
+
+import com.neutron.inventory_service.dto.ProductCreateDTO;
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.mapper.ProductMapper;
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Conversión entidad <-> DTO con distinto número de categorías y etiquetas por producto
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int associations;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private Product product;
+    private ProductCreateDTO createDTO;
+
+    @Setup
+    public void setUp() {
+        Set<Category> categories = new HashSet<>();
+        Set<Tag> tags = new HashSet<>();
+        Set<String> categoryNames = new HashSet<>();
+        Set<String> tagNames = new HashSet<>();
+        for (int i = 0; i < associations; i++) {
+            categories.add(Category.builder().id((long) i).name("categoria-" + i).build());
+            tags.add(Tag.builder().id((long) i).name("etiqueta-" + i).build());
+            categoryNames.add("categoria-" + i);
+            tagNames.add("etiqueta-" + i);
+        }
+
+        product = Product.builder()
+                .id(1L)
+                .name("Smartphone Galaxy A54")
+                .description("Pantalla de 6.4 pulgadas, 128 GB")
+                .sku("SKU-BENCH-1")
+                .stock(25)
+                .brand("Samsung")
+                .price(7999)
+                .weight(0.2)
+                .dimensions("158mm x 77mm")
+                .status("Disponible")
+                .imagePath("uploads/galaxy-a54.png")
+                .categories(categories)
+                .tags(tags)
+                .build();
+
+        createDTO = ProductCreateDTO.builder()
+                .name(product.getName())
+                .description(product.getDescription())
+                .sku(product.getSku())
+                .stock(product.getStock())
+                .brand(product.getBrand())
+                .price(product.getPrice())
+                .weight(product.getWeight())
+                .dimensions(product.getDimensions())
+                .status(product.getStatus())
+                .imagePath(product.getImagePath())
+                .categoryNames(categoryNames)
+                .tagNames(tagNames)
+                .build();
+    }
+
+    @Benchmark
+    public ProductDTO toDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public Product toEntity() {
+        return productMapper.toEntity(createDTO);
+    }
+}
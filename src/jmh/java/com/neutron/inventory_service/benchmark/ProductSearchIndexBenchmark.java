@@ -0,0 +1,73 @@
+package com.neutron.inventory_service.benchmark;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda de texto sobre un catálogo sintético: término frecuente, dos términos, prefijo y errata
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {"ca", "me", "ra", "to", "li", "sa", "nu", "pe", "de", "fo",
+            "gi", "ta", "mo", "ven", "tra", "ble", "cor", "sin", "lu", "bo", "xa", "fi", "ger", "pun"};
+    private static final String[] BRANDS = {"Samsung", "Sony", "Canon", "Lenovo", "Xiaomi", "Philips", "Bosch", "Logitech"};
+    private static final String[] CATEGORIES = {"celulares", "audio", "fotografía", "computación", "hogar", "oficina"};
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    @Param({"cámara", "samsung cámara", "audif", "telefno"})
+    private String query;
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary.add(word.toString());
+        }
+        // Términos de las consultas, con frecuencias parecidas a las de un catálogo real
+        vocabulary.addAll(List.of("cámara", "audífonos", "teléfono", "pantalla", "funda", "cargador"));
+
+        for (long id = 1; id <= products; id++) {
+            index.put(ProductDTO.builder()
+                    .id(id)
+                    .name(word(vocabulary, random) + " " + word(vocabulary, random) + " " + id)
+                    .brand(BRANDS[random.nextInt(BRANDS.length)])
+                    .description(word(vocabulary, random) + " " + word(vocabulary, random) + " "
+                            + word(vocabulary, random) + " " + word(vocabulary, random))
+                    .categoryNames(Set.of(CATEGORIES[random.nextInt(CATEGORIES.length)]))
+                    .tagNames(Set.of(word(vocabulary, random)))
+                    .build());
+        }
+    }
+
+    // Las últimas palabras del vocabulario (las de las consultas) aparecen en un 1 % de los textos cada una
+    private static String word(List<String> vocabulary, Random random) {
+        return random.nextInt(100) < 6
+                ? vocabulary.get(vocabulary.size() - 6 + random.nextInt(6))
+                : vocabulary.get(random.nextInt(vocabulary.size() - 6));
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Hits search() {
+        return index.search(query, 0, 20);
+    }
+}
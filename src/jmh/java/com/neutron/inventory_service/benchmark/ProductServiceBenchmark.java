@@ -0,0 +1,181 @@
+package com.neutron.inventory_service.benchmark;
+
+import com.neutron.inventory_service.InventoryServiceApplication;
+import com.neutron.inventory_service.dto.CursorPageDTO;
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.dto.ProductFacetsDTO;
+import com.neutron.inventory_service.dto.ProductSearchCriteriaDTO;
+import com.neutron.inventory_service.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listados paginados de ProductServiceImpl sobre H2 (perfil "test") con catálogos de distinto tamaño.
+ * <p>
+ * Incluye las facetas de la búsqueda frente a obtener los mismos conteos con una búsqueda por valor.
+ * <p>
+ * Cada llamada se ejecuta en una transacción de solo lectura, como las peticiones web con
+ * open-in-view, para que las categorías y etiquetas se carguen de forma perezosa igual que en producción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CATEGORIES = 20;
+    private static final int BRANDS = 50;
+    private static final List<Integer> PRICE_BOUNDARIES = List.of(1000, 5000, 10000, 50000);
+    private static final ProductSearchCriteriaDTO FACET_CRITERIA = ProductSearchCriteriaDTO.builder()
+            .categories(List.of("categoria-1"))
+            .inStock(true)
+            .build();
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private TransactionTemplate readOnly;
+    private int deepPage;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN")
+                .run();
+        productService = context.getBean(ProductService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+
+        // Página a mitad del catálogo, por OFFSET y por cursor
+        deepPage = catalogSize / PAGE_SIZE / 2;
+        Map<String, Object> middle = jdbcTemplate.queryForMap(
+                "select id, price from products order by price, id offset ? rows fetch first 1 rows only",
+                deepPage * PAGE_SIZE - 1);
+        deepCursor = cursor("price-asc", middle.get("id"), middle.get("price"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> sortedByPriceFirstPage() {
+        return readOnly.execute(status -> productService.getProductDTOsSortedByPriceAsc(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> sortedByPriceDeepPage() {
+        return readOnly.execute(status -> productService.getProductDTOsSortedByPriceAsc(deepPage, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPageDTO<ProductDTO> sortedByPriceDeepCursor() {
+        return readOnly.execute(status -> productService.scrollProductDTOsSorted("price-asc", deepCursor, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> priceRange() {
+        return readOnly.execute(status -> productService.getProductDTOsByPriceBetween(1000, 2000, 0, PAGE_SIZE, "price-asc"));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> byCategories() {
+        return readOnly.execute(status -> productService.getProductDTOsByCategoriesIgnoreCaseSorted(
+                List.of("CATEGORIA-1", "categoria-2"), "price-asc", 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> search() {
+        ProductSearchCriteriaDTO criteria = ProductSearchCriteriaDTO.builder()
+                .categories(List.of("categoria-1"))
+                .brands(List.of("marca 3", "marca 4"))
+                .minPrice(1000)
+                .inStock(true)
+                .build();
+        return readOnly.execute(status -> productService.searchProductDTOs(criteria, "price-asc", 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public ProductFacetsDTO facets() {
+        return readOnly.execute(status -> productService.getProductFacets(FACET_CRITERIA, PRICE_BOUNDARIES));
+    }
+
+    // Los mismos conteos sin el endpoint de facetas: una búsqueda de una página por valor para leer totalElements
+    @Benchmark
+    public long facetsPerValue() {
+        return readOnly.execute(status -> {
+            long total = 0;
+            for (int i = 0; i < BRANDS; i++) {
+                total += count(FACET_CRITERIA.toBuilder().brands(List.of("marca " + i)).build());
+            }
+            for (int i = 1; i <= CATEGORIES; i++) {
+                total += count(FACET_CRITERIA.toBuilder().categories(List.of("categoria-" + i)).build());
+                total += count(FACET_CRITERIA.toBuilder().tags(List.of("etiqueta-" + i)).build());
+            }
+            for (String productStatus : List.of("Disponible", "Agotado")) {
+                total += count(FACET_CRITERIA.toBuilder().status(productStatus).build());
+            }
+            for (int i = 0; i <= PRICE_BOUNDARIES.size(); i++) {
+                total += count(FACET_CRITERIA.toBuilder()
+                        .minPrice(i > 0 ? PRICE_BOUNDARIES.get(i - 1) : null)
+                        .maxPrice(i < PRICE_BOUNDARIES.size() ? PRICE_BOUNDARIES.get(i) - 1 : null)
+                        .build());
+            }
+            return total;
+        });
+    }
+
+    private long count(ProductSearchCriteriaDTO criteria) {
+        return productService.searchProductDTOs(criteria, "price-asc", 0, 1).getTotalElements();
+    }
+
+    // Catálogo sintético generado dentro de H2, sin pasar por JPA
+    private void seed(JdbcTemplate jdbcTemplate) {
+        for (int i = 1; i <= CATEGORIES; i++) {
+            jdbcTemplate.update("insert into categories (id, name) values (?, ?)", i, "categoria-" + i);
+            jdbcTemplate.update("insert into tags (id, name) values (?, ?)", i, "etiqueta-" + i);
+        }
+        jdbcTemplate.update("""
+                insert into products (name, description, sku, stock, brand, price, weight, dimensions, status,
+                                      average_rating, created_at, updated_at)
+                select 'Producto ' || x, 'Descripción del producto ' || x, 'SKU-' || x, mod(x, 100),
+                       'Marca ' || mod(x, ?), 100 + mod(x * 7919, 100000), 0.5, '100mm x 50mm',
+                       case when mod(x, 3) = 0 then 'Agotado' else 'Disponible' end,
+                       0, current_timestamp, current_timestamp
+                from system_range(1, ?)
+                """, BRANDS, catalogSize);
+        jdbcTemplate.update("insert into product_category (product_id, category_id) select id, mod(id, ?) + 1 from products", CATEGORIES);
+        jdbcTemplate.update("insert into product_tags (product_id, tag_id) select id, mod(id * 7, ?) + 1 from products", CATEGORIES);
+        jdbcTemplate.execute("analyze");
+    }
+
+    // Mismo formato que el nextCursor de la API: Base64URL de "orden:id:valor"
+    private static String cursor(String sortBy, Object id, Object value) {
+        String raw = sortBy + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.neutron.inventory_service.cache;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.repository.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class CategoryNameCache extends NameDictionaryCache<Category> {
+
+    private final CategoryRepository categoryRepository;
+
+    public CategoryNameCache(CategoryRepository categoryRepository, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${inventory.cache.dictionary.max-size:10000}") long maxSize,
+                             @Value("${inventory.cache.dictionary.ttl:PT1H}") Duration ttl) {
+        super("category.names", categoryRepository, transactionManager, meterRegistry, maxSize, ttl);
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    protected List<Category> findAllByNames(Collection<String> names) {
+        return categoryRepository.findByNameInIgnoreCase(names);
+    }
+
+    @Override
+    protected Category newEntity(String name) {
+        return Category.builder().name(name).build();
+    }
+
+    @Override
+    protected String nameOf(Category category) {
+        return category.getName();
+    }
+}
@@ -0,0 +1,30 @@
+package com.neutron.inventory_service.cache;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Tag;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Invalida las cachés de nombres cuando una categoría o etiqueta se modifica o elimina
+public class DictionaryCacheListener {
+
+    // Se resuelven de forma perezosa: Hibernate crea el listener antes que los repositorios
+    @Autowired
+    private ObjectProvider<CategoryNameCache> categoryNameCache;
+
+    @Autowired
+    private ObjectProvider<TagNameCache> tagNameCache;
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        if (entity instanceof Category) {
+            // El nombre anterior no se conoce tras un cambio de nombre, se vacía la caché completa
+            categoryNameCache.ifAvailable(NameDictionaryCache::invalidateAll);
+        } else if (entity instanceof Tag) {
+            tagNameCache.ifAvailable(NameDictionaryCache::invalidateAll);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.neutron.inventory_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Caché acotada nombre -> entidad (sin distinguir mayúsculas y minúsculas) para diccionarios
+ * como categorías y etiquetas.
+ * <p>
+ * Los nombres que no están en caché se resuelven con una sola consulta {@code IN (...)} y los
+ * que no existen se insertan en un único lote, en su propia transacción. Si otra petición crea
+ * el mismo nombre a la vez, se vuelve a leer de la base de datos en lugar de fallar.
+ */
+public abstract class NameDictionaryCache<E> {
+
+    private final JpaRepository<E, Long> repository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final Cache<String, E> entries;
+
+    protected NameDictionaryCache(String cacheName, JpaRepository<E, Long> repository,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                  long maxSize, Duration ttl) {
+        this.repository = repository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, cacheName);
+    }
+
+    // Busca en la base de datos las entidades cuyos nombres coinciden, ignorando mayúsculas y minúsculas
+    protected abstract List<E> findAllByNames(Collection<String> names);
+
+    protected abstract E newEntity(String name);
+
+    protected abstract String nameOf(E entity);
+
+    // Devuelve las entidades para los nombres dados, creando las que no existan
+    public Set<E> resolve(Collection<String> names) {
+        return new HashSet<>(resolveAll(names).values());
+    }
+
+    // Igual que resolve, pero indexado por la clave normalizada de cada nombre (ver key)
+    public Map<String, E> resolveAll(Collection<String> names) {
+        Map<String, E> resolved = new HashMap<>();
+        if (names == null || names.isEmpty()) {
+            return resolved;
+        }
+
+        // Nombres que no están en caché, por clave normalizada
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name == null || name.trim().isEmpty()) {
+                continue;
+            }
+            String key = key(name);
+            E cached = entries.getIfPresent(key);
+            if (cached != null) {
+                resolved.put(key, cached);
+            } else {
+                missing.putIfAbsent(key, name.trim());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            loadExisting(missing, resolved);
+        }
+        if (!missing.isEmpty()) {
+            insertMissing(missing, resolved);
+        }
+        return resolved;
+    }
+
+    public void evict(String name) {
+        if (name != null) {
+            entries.invalidate(key(name));
+        }
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Una sola consulta IN (...) para todos los nombres que faltan
+    private void loadExisting(Map<String, String> missing, Map<String, E> resolved) {
+        for (E entity : findAllByNames(missing.values())) {
+            String key = key(nameOf(entity));
+            if (missing.remove(key) != null) {
+                entries.put(key, entity);
+                resolved.put(key, entity);
+            }
+        }
+    }
+
+    private void insertMissing(Map<String, String> missing, Map<String, E> resolved) {
+        List<E> newEntities = missing.values().stream().map(this::newEntity).toList();
+        try {
+            // Inserción en lote (hibernate.jdbc.batch_size) en una transacción independiente
+            List<E> created = requiresNewTransaction.execute(status -> repository.saveAll(newEntities));
+            cacheAll(Objects.requireNonNull(created), missing, resolved);
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición creó alguno de los nombres a la vez: releer y crear uno a uno los que falten
+            loadExisting(missing, resolved);
+            for (String name : List.copyOf(missing.values())) {
+                insertOne(name, missing, resolved);
+            }
+        }
+    }
+
+    private void insertOne(String name, Map<String, String> missing, Map<String, E> resolved) {
+        try {
+            E created = requiresNewTransaction.execute(status -> repository.save(newEntity(name)));
+            cacheAll(List.of(Objects.requireNonNull(created)), missing, resolved);
+        } catch (DataIntegrityViolationException e) {
+            loadExisting(new HashMap<>(Map.of(key(name), name)), resolved);
+            missing.remove(key(name));
+        }
+    }
+
+    private void cacheAll(List<E> created, Map<String, String> missing, Map<String, E> resolved) {
+        for (E entity : created) {
+            String key = key(nameOf(entity));
+            missing.remove(key);
+            entries.put(key, entity);
+            resolved.put(key, entity);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.neutron.inventory_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neutron.inventory_service.dto.ProductDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de ProductDTO para las consultas por id y por SKU.
+ * <p>
+ * Los DTO se guardan solo por id; el SKU se traduce a id con un índice aparte, de modo que
+ * invalidar un id basta para que ninguna de las dos rutas devuelva datos viejos.
+ * <p>
+ * Las cargas van a la base de datos fuera de los bloqueos de Caffeine: una escritura invalida
+ * con su conexión y sus bloqueos de fila tomados, y si esperase a una carga que a su vez espera
+ * una conexión libre del pool ambas quedarían bloqueadas. Para que una invalidación posterior al
+ * commit siga eliminando siempre un valor leído antes de ese commit, cada invalidación incrementa
+ * un contador por grupo de claves y el valor cargado solo se guarda si el contador no ha cambiado
+ * desde que empezó la carga.
+ */
+@Component
+public class ProductDtoCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, ProductDTO> productsById;
+    private final Cache<String, Long> idsBySku;
+    private final AtomicLongArray idStamps = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray skuStamps = new AtomicLongArray(STRIPES);
+
+    public ProductDtoCache(MeterRegistry meterRegistry,
+                           @Value("${inventory.cache.products.max-size:10000}") long maxSize,
+                           @Value("${inventory.cache.products.ttl:PT5M}") Duration ttl) {
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsBySku = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "product.dto");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsBySku, "product.sku");
+    }
+
+    // Devuelve el producto de la caché o lo carga con el loader (que puede lanzar ProductNotFoundException)
+    public ProductDTO getById(Long id, Function<Long, ProductDTO> loader) {
+        return get(productsById, idStamps, id, loader);
+    }
+
+    public ProductDTO getBySku(String sku, Function<String, Long> idLoader, Function<Long, ProductDTO> loader) {
+        Long id = get(idsBySku, skuStamps, sku, idLoader);
+        return getById(Objects.requireNonNull(id), loader);
+    }
+
+    // Invalida el producto y sus SKUs ahora y, si hay una transacción activa, otra vez tras el commit
+    public void evictAfterCommit(Long id, String... skus) {
+        evict(id, skus);
+        TransactionCallbacks.afterCommit(() -> evict(id, skus));
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            idStamps.incrementAndGet(i);
+            skuStamps.incrementAndGet(i);
+        }
+        productsById.invalidateAll();
+        idsBySku.invalidateAll();
+    }
+
+    private void evict(Long id, String... skus) {
+        if (id != null) {
+            invalidate(productsById, idStamps, id);
+        }
+        Arrays.stream(skus).filter(Objects::nonNull).forEach(sku -> invalidate(idsBySku, skuStamps, sku));
+    }
+
+    // Sin carga única por clave: dos fallos simultáneos sobre la misma clave consultan los dos la base de datos
+    private static <K, V> V get(Cache<K, V> cache, AtomicLongArray stamps, K key, Function<K, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(key);
+        long stamp = stamps.get(stripe);
+        V loaded = loader.apply(key);
+        // Comprobar y guardar bajo el bloqueo de la clave: una invalidación o ya ha cambiado el contador o llega después
+        cache.asMap().compute(key, (k, current) -> current != null || stamps.get(stripe) != stamp ? current : loaded);
+        return loaded;
+    }
+
+    private static <K, V> void invalidate(Cache<K, V> cache, AtomicLongArray stamps, K key) {
+        stamps.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,175 @@
+package com.neutron.inventory_service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vista en memoria productId -> stock para las consultas de disponibilidad.
+ * <p>
+ * Usa direccionamiento abierto sobre arreglos primitivos (long[] / int[]), sin objetos por
+ * entrada, para que decenas de miles de productos ocupen unos pocos MB.
+ * <p>
+ * Las escrituras de stock de este servicio actualizan la entrada tras el commit. Cada entrada
+ * caduca a los {@code inventory.stock-view.max-staleness} de haberse escrito, que es el máximo
+ * desfase posible frente a cambios hechos por otras instancias o a escrituras concurrentes
+ * que confirmen fuera de orden. Una entrada caducada o ausente se trata como un fallo y se
+ * vuelve a leer de la base de datos.
+ */
+@Component
+public class StockLevelIndex {
+
+    public static final int MISSING = -1;
+
+    private static final long FREE = 0L; // Los ids generados por la base de datos empiezan en 1
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long maxStalenessNanos;
+    private final int maxEntries;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] stocks = new int[INITIAL_CAPACITY];
+    private long[] writtenAt = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public StockLevelIndex(@Value("${inventory.stock-view.max-staleness:PT2S}") Duration maxStaleness,
+                           @Value("${inventory.stock-view.max-entries:1000000}") int maxEntries) {
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    // Devuelve el stock del producto o MISSING si no está o ha caducado
+    public int get(long productId) {
+        lock.readLock().lock();
+        try {
+            int slot = find(keys, productId);
+            if (keys[slot] == FREE || System.nanoTime() - writtenAt[slot] > maxStalenessNanos) {
+                return MISSING;
+            }
+            return stocks[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(long productId, int stock) {
+        if (productId == FREE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = find(keys, productId);
+            if (keys[slot] == FREE) {
+                if (size >= maxEntries) {
+                    // Vista llena: se vacía y se vuelve a poblar con las siguientes lecturas
+                    clearUnderLock();
+                } else if ((size + 1) * 2 > keys.length) {
+                    resize(keys.length * 2);
+                }
+                slot = find(keys, productId);
+                keys[slot] = productId;
+                size++;
+            }
+            stocks[slot] = stock;
+            writtenAt[slot] = System.nanoTime();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Actualiza la entrada cuando el cambio de stock ya es visible (tras el commit, si hay transacción)
+    public void putAfterCommit(long productId, int stock) {
+        TransactionCallbacks.afterCommit(() -> put(productId, stock));
+    }
+
+    public void removeAfterCommit(long productId) {
+        TransactionCallbacks.afterCommit(() -> remove(productId));
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(keys, productId);
+            if (keys[slot] == FREE) {
+                return;
+            }
+            // Borrado con desplazamiento hacia atrás para no romper las secuencias de sondeo
+            int mask = keys.length - 1;
+            int next = (slot + 1) & mask;
+            while (keys[next] != FREE) {
+                int ideal = hash(keys[next]) & mask;
+                if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    stocks[slot] = stocks[next];
+                    writtenAt[slot] = writtenAt[next];
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[slot] = FREE;
+            size--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearUnderLock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clearUnderLock() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldStocks = stocks;
+        long[] oldWrittenAt = writtenAt;
+
+        keys = new long[capacity];
+        stocks = new int[capacity];
+        writtenAt = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                stocks[slot] = oldStocks[i];
+                writtenAt[slot] = oldWrittenAt[i];
+            }
+        }
+    }
+
+    // Posición de la clave o del primer hueco libre de su secuencia de sondeo lineal
+    private static int find(long[] table, long productId) {
+        int mask = table.length - 1;
+        int slot = hash(productId) & mask;
+        while (table[slot] != FREE && table[slot] != productId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long productId) {
+        long h = productId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,41 @@
+package com.neutron.inventory_service.cache;
+
+import com.neutron.inventory_service.model.Tag;
+import com.neutron.inventory_service.repository.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class TagNameCache extends NameDictionaryCache<Tag> {
+
+    private final TagRepository tagRepository;
+
+    public TagNameCache(TagRepository tagRepository, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${inventory.cache.dictionary.max-size:10000}") long maxSize,
+                        @Value("${inventory.cache.dictionary.ttl:PT1H}") Duration ttl) {
+        super("tag.names", tagRepository, transactionManager, meterRegistry, maxSize, ttl);
+        this.tagRepository = tagRepository;
+    }
+
+    @Override
+    protected List<Tag> findAllByNames(Collection<String> names) {
+        return tagRepository.findByNameInIgnoreCase(names);
+    }
+
+    @Override
+    protected Tag newEntity(String name) {
+        return Tag.builder().name(name).build();
+    }
+
+    @Override
+    protected String nameOf(Tag tag) {
+        return tag.getName();
+    }
+}
@@ -0,0 +1,25 @@
+package com.neutron.inventory_service.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Ejecuta una acción sobre las cachés cuando los cambios ya son visibles para otras transacciones
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // Tras el commit si hay una transacción activa; en caso contrario, inmediatamente
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
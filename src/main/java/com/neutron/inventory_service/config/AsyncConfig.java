@@ -0,0 +1,11 @@
+package com.neutron.inventory_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita las tareas programadas: publicación de la outbox, barrido de imágenes sin uso, purga de
+// tombstones y de pedidos ya procesados, y sincronización del índice de búsqueda
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,51 @@
+package com.neutron.inventory_service.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+
+/**
+ * Sin {@code SPRING_R2DBC_URL}, las lecturas reactivas usan la misma base que el DataSource: la URL de
+ * R2DBC se deduce de {@code spring.datasource.url} ({@code jdbc:postgresql://...} pasa a
+ * {@code r2dbc:postgresql://...}). Así un despliegue que solo configura JDBC sigue arrancando.
+ * <p>
+ * Se ejecuta después de cargar application.properties y solo rellena la URL si está vacía.
+ */
+public class R2dbcUrlEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String R2DBC_URL = "spring.r2dbc.url";
+    static final String DATASOURCE_URL = "spring.datasource.url";
+
+    private static final String JDBC_POSTGRESQL = "jdbc:postgresql:";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (StringUtils.hasText(resolve(environment, R2DBC_URL))) {
+            return;
+        }
+        String jdbcUrl = resolve(environment, DATASOURCE_URL);
+        if (jdbcUrl != null && jdbcUrl.startsWith(JDBC_POSTGRESQL)) {
+            environment.getPropertySources().addFirst(new MapPropertySource("derivedR2dbcUrl",
+                    Map.of(R2DBC_URL, "r2dbc:postgresql:" + jdbcUrl.substring(JDBC_POSTGRESQL.length()))));
+        }
+    }
+
+    // Una variable de entorno sin definir deja la propiedad sin resolver; se trata como vacía
+    private static String resolve(ConfigurableEnvironment environment, String name) {
+        try {
+            return environment.getProperty(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -2,14 +2,40 @@ package com.neutron.inventory_service.config;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String STOCK_EXCHANGE = "stockExchange";
+    public static final String STOCK_LOW_ROUTING_KEY = "stock.low";
+
+    // Cambios del catálogo; cada consumidor declara su cola y la enlaza con las claves que necesite (p. ej. product.#)
+    public static final String PRODUCT_EXCHANGE = "productExchange";
+    public static final String PRODUCT_CREATED_ROUTING_KEY = "product.created";
+    public static final String PRODUCT_UPDATED_ROUTING_KEY = "product.updated";
+    public static final String PRODUCT_DELETED_ROUTING_KEY = "product.deleted";
+    public static final String PRODUCT_PRICE_CHANGED_ROUTING_KEY = "product.price-changed";
+    public static final String PRODUCT_STOCK_CHANGED_ROUTING_KEY = "product.stock-changed";
+
+    // Pedidos confirmados que llegan de otros servicios, y su dead-letter: mensajes ilegibles o inválidos
+    // y pedidos rechazados por falta de stock, cada uno en su cola
+    public static final String ORDER_EXCHANGE = "orderExchange";
+    public static final String ORDER_PLACED_ROUTING_KEY = "order.placed";
+    public static final String ORDER_PLACED_QUEUE = "order.placed.queue";
+    public static final String ORDER_DEAD_LETTER_EXCHANGE = "orderExchange.dlx";
+    public static final String ORDER_INVALID_ROUTING_KEY = "order.placed.invalid";
+    public static final String ORDER_INSUFFICIENT_STOCK_ROUTING_KEY = "order.placed.insufficient-stock";
+
     @Bean
     public Queue stockLowQueue() {
         return new Queue("stock.low.queue", false);
@@ -17,11 +43,85 @@ public class RabbitMQConfig {
 
     @Bean
     public TopicExchange stockExchange() {
-        return new TopicExchange("stockExchange");
+        return new TopicExchange(STOCK_EXCHANGE);
+    }
+
+    @Bean
+    public TopicExchange productExchange() {
+        return new TopicExchange(PRODUCT_EXCHANGE);
     }
 
     @Bean
     public Binding binding(Queue stockLowQueue, TopicExchange stockExchange) {
-        return BindingBuilder.bind(stockLowQueue).to(stockExchange).with("stock.low");
+        return BindingBuilder.bind(stockLowQueue).to(stockExchange).with(STOCK_LOW_ROUTING_KEY);
+    }
+
+    @Bean
+    public TopicExchange orderExchange() {
+        return new TopicExchange(ORDER_EXCHANGE);
+    }
+
+    @Bean
+    public DirectExchange orderDeadLetterExchange() {
+        return new DirectExchange(ORDER_DEAD_LETTER_EXCHANGE);
+    }
+
+    // Lo que el broker descarte de la cola (p. ej. un rechazo sin reencolar) también acaba en la de inválidos
+    @Bean
+    public Queue orderPlacedQueue() {
+        return QueueBuilder.durable(ORDER_PLACED_QUEUE)
+                .deadLetterExchange(ORDER_DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(ORDER_INVALID_ROUTING_KEY)
+                .build();
+    }
+
+    @Bean
+    public Queue orderInvalidQueue() {
+        return QueueBuilder.durable(ORDER_INVALID_ROUTING_KEY + ".queue").build();
+    }
+
+    @Bean
+    public Queue orderInsufficientStockQueue() {
+        return QueueBuilder.durable(ORDER_INSUFFICIENT_STOCK_ROUTING_KEY + ".queue").build();
+    }
+
+    @Bean
+    public Binding orderPlacedBinding(Queue orderPlacedQueue, TopicExchange orderExchange) {
+        return BindingBuilder.bind(orderPlacedQueue).to(orderExchange).with(ORDER_PLACED_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding orderInvalidBinding(Queue orderInvalidQueue, DirectExchange orderDeadLetterExchange) {
+        return BindingBuilder.bind(orderInvalidQueue).to(orderDeadLetterExchange).with(ORDER_INVALID_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding orderInsufficientStockBinding(Queue orderInsufficientStockQueue, DirectExchange orderDeadLetterExchange) {
+        return BindingBuilder.bind(orderInsufficientStockQueue).to(orderDeadLetterExchange).with(ORDER_INSUFFICIENT_STOCK_ROUTING_KEY);
+    }
+
+    // Contenedor de OrderPlacedListener: cada consumidor recibe lotes de hasta batch-size mensajes (los que
+    // lleguen en batch-timeout) y los confirma con un solo ack; entre concurrency y max-concurrency consumidores
+    @Bean
+    public SimpleRabbitListenerContainerFactory orderBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${inventory.orders.listener.auto-startup:true}") boolean autoStartup,
+            @Value("${inventory.orders.listener.concurrency:1}") int concurrency,
+            @Value("${inventory.orders.listener.max-concurrency:4}") int maxConcurrency,
+            @Value("${inventory.orders.listener.prefetch:250}") int prefetch,
+            @Value("${inventory.orders.listener.batch-size:100}") int batchSize,
+            @Value("${inventory.orders.listener.batch-timeout-ms:100}") long batchTimeoutMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAutoStartup(autoStartup);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchTimeoutMillis);
+        return factory;
     }
 }
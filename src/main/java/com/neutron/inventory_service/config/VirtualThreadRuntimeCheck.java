@@ -0,0 +1,29 @@
+package com.neutron.inventory_service.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avisa al arrancar si se pidieron hilos virtuales ({@code spring.threads.virtual.enabled=true})
+ * en un runtime anterior a Java 21: Spring Boot ignora la opción sin decir nada y la aplicación
+ * sigue con hilos de plataforma, sin el bulkhead ni el monitor de hilos fijados.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadRuntimeCheck {
+
+    static final int MINIMUM_JAVA_VERSION = 21;
+
+    @PostConstruct
+    public void check() {
+        int runtimeVersion = Runtime.version().feature();
+        if (runtimeVersion < MINIMUM_JAVA_VERSION) {
+            log.warn("spring.threads.virtual.enabled=true no tiene efecto con Java {}: los hilos virtuales requieren "
+                    + "Java {} o superior en tiempo de ejecución; se usan hilos de plataforma", runtimeVersion,
+                    MINIMUM_JAVA_VERSION);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.storage.ImageVariant;
+import com.neutron.inventory_service.storage.LocalImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sirve las imágenes de producto y sus versiones reducidas desde {@code inventory.images.directory}.
+ * <p>
+ * Los nombres de archivo no se reutilizan nunca (hash del contenido o UUID en las imágenes antiguas),
+ * así que cada respuesta lleva un ETag fuerte basado en el nombre y se puede cachear un año. Admite
+ * If-None-Match (304), un rango de bytes (206) y, con Tomcat, envía el archivo con sendfile sin
+ * pasar por la JVM. Si una versión reducida aún no existe se sirve el original sin cachear.
+ */
+@RestController
+public class ImageController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    // Atributos con los que Tomcat (conector NIO) envía el archivo con sendfile tras la respuesta
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStorage imageStorage;
+
+    public ImageController(LocalImageStorage imageStorage) {
+        this.imageStorage = imageStorage;
+    }
+
+    @GetMapping(LocalImageStorage.URL_PREFIX + "{fileName:.+}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean immutable = true;
+        Optional<Path> file = imageStorage.find(fileName);
+        if (file.isEmpty()) {
+            // Versión reducida todavía en proceso (o imposible de generar): servir el original
+            file = ImageVariant.originalFileName(fileName).flatMap(imageStorage::find);
+            immutable = false;
+        }
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + file.get().getFileName() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                immutable ? IMMUTABLE.getHeaderValue() : CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = Files.size(file.get());
+        response.setContentType(MediaTypeFactory.getMediaType(file.get().getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        // Un único rango; If-Range con otro ETag (o con fecha) pide el archivo completo
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges = List.of();
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                rangeNotSatisfiable(response, length);
+                return;
+            }
+        }
+        if (ranges.size() != 1) {
+            send(request, response, file.get(), 0, length);
+            return;
+        }
+
+        long start;
+        long end;
+        try {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            rangeNotSatisfiable(response, length);
+            return;
+        }
+        if (start > end) {
+            rangeNotSatisfiable(response, length);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        send(request, response, file.get(), start, end - start + 1);
+    }
+
+    private static void rangeNotSatisfiable(HttpServletResponse response, long length) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                             long start, long count) throws IOException {
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        // Sin sendfile: transferTo desde el FileChannel, sin pasar por un búfer propio
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+}
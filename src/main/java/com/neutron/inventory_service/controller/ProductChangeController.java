@@ -0,0 +1,71 @@
+package com.neutron.inventory_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.error.ChangeTokenExpiredException;
+import com.neutron.inventory_service.service.ProductChangeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Feed de cambios para servicios que mantienen una copia del catálogo: altas, modificaciones y borrados
+// desde el token de la última petición (sin token, desde el principio)
+@RestController
+@RequestMapping("/api/products/changes")
+public class ProductChangeController {
+
+    private final ProductChangeService productChangeService;
+    private final ObjectMapper objectMapper;
+
+    public ProductChangeController(ProductChangeService productChangeService, ObjectMapper objectMapper) {
+        this.productChangeService = productChangeService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(productChangeService.getChanges(since, limit));
+        } catch (ChangeTokenExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Con "Accept: application/x-ndjson", todos los cambios pendientes en una respuesta, un cambio por
+    // línea. Cada línea lleva su token: si la conexión se corta, se continúa desde la última recibida
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> streamChanges(@RequestParam(required = false) String since) {
+        // El token se valida antes de empezar a escribir, mientras aún se puede responder con un error
+        try {
+            productChangeService.checkToken(since);
+        } catch (ChangeTokenExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+
+        StreamingResponseBody body = outputStream -> productChangeService.streamChanges(since, chunk -> {
+            try {
+                for (ProductChangeDTO change : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(change));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
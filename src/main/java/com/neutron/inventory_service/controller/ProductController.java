@@ -1,30 +1,48 @@
 package com.neutron.inventory_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.dto.BulkImportResultDTO;
+import com.neutron.inventory_service.dto.CursorPageDTO;
 import com.neutron.inventory_service.dto.ProductCreateDTO;
 import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.dto.ProductFacetsDTO;
+import com.neutron.inventory_service.dto.ProductSearchCriteriaDTO;
 import com.neutron.inventory_service.dto.ProductUpdateDTO;
 import com.neutron.inventory_service.error.DuplicateSkuException;
 import com.neutron.inventory_service.error.ProductNotFoundException;
+import com.neutron.inventory_service.repository.projection.ProductVersionView;
 import com.neutron.inventory_service.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -39,10 +57,33 @@ public class ProductController {
         }
     }
 
+    // Exportación en streaming (NDJSON) de todo el catálogo: se activa con "Accept: application/x-ndjson"
+    // y escribe los productos por bloques, sin cargar el catálogo completo en memoria
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream -> productService.streamAllProductDTOs(chunk -> {
+            try {
+                for (ProductDTO productDTO : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(productDTO));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/id/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id, WebRequest request) {
         try {
+            // Petición condicional: 304 sin cargar el producto si el cliente ya tiene esta versión
+            if (isConditional(request) && notModified(productService.getProductVersionById(id), request)) {
+                return null;
+            }
             Optional<ProductDTO> productDTO = productService.getProductDTOById(id);
+            productDTO.ifPresent(dto -> notModified(dto.getId(), dto.getUpdatedAt(), request));
             return ResponseEntity.ok(productDTO);
         } catch (ProductNotFoundException e) {
             return ResponseEntity.ok("Producto no encontrado");
@@ -67,9 +108,13 @@ public class ProductController {
     }
 
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<?> getProductBySku(@PathVariable String sku) {
+    public ResponseEntity<?> getProductBySku(@PathVariable String sku, WebRequest request) {
         try {
+            if (isConditional(request) && notModified(productService.getProductVersionBySku(sku), request)) {
+                return null;
+            }
             Optional<ProductDTO> productDTO = productService.getProductDTOBySku(sku);
+            productDTO.ifPresent(dto -> notModified(dto.getId(), dto.getUpdatedAt(), request));
             return ResponseEntity.ok(productDTO);
         } catch (ProductNotFoundException e) {
             return ResponseEntity.ok("Producto no encontrado");
@@ -83,9 +128,21 @@ public class ProductController {
             @RequestParam List<String> categories,
             @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return new ResponseEntity<>(productService.getProductDTOsByCategoriesIgnoreCaseSorted(
-                categories, sortBy, page, size), HttpStatus.OK);
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditionalPage(productService.getProductDTOsByCategoriesIgnoreCaseSorted(
+                categories, sortBy, page, size), request);
+    }
+
+    // Variante por cursor: se activa con el parámetro "cursor" (vacío para la primera página)
+    @GetMapping(value = "/category", params = "cursor")
+    public ResponseEntity<?> scrollProductsByCategories(
+            @RequestParam List<String> categories,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsByCategoriesIgnoreCase(categories, sortBy, cursor, size), request);
     }
 
     @GetMapping("by-brands")
@@ -93,25 +150,54 @@ public class ProductController {
             @RequestParam List<String> brands,
             @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return new ResponseEntity<>(productService.getProductDTOsByBrandsIgnoreCaseSorted(
-                brands, sortBy, page, size), HttpStatus.OK);
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditionalPage(productService.getProductDTOsByBrandsIgnoreCaseSorted(
+                brands, sortBy, page, size), request);
+    }
+
+    @GetMapping(value = "by-brands", params = "cursor")
+    public ResponseEntity<?> scrollProductsByBrands(
+            @RequestParam List<String> brands,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsByBrandsIgnoreCase(brands, sortBy, cursor, size), request);
     }
 
     @GetMapping("/sorted/asc")
     public ResponseEntity<Page<ProductDTO>> getProductsSortedByPriceAsc(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
 
-        return new ResponseEntity<>(productService.getProductDTOsSortedByPriceAsc(page, size), HttpStatus.OK);
+        return conditionalPage(productService.getProductDTOsSortedByPriceAsc(page, size), request);
+    }
+
+    @GetMapping(value = "/sorted/asc", params = "cursor")
+    public ResponseEntity<?> scrollProductsSortedByPriceAsc(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsSorted("price-asc", cursor, size), request);
     }
 
     @GetMapping("/sorted/desc")
     public ResponseEntity<Page<ProductDTO>> getProductsSortedByPriceDesc(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
 
-        return new ResponseEntity<>(productService.getProductDTOsSortedByPriceDesc(page, size), HttpStatus.OK);
+        return conditionalPage(productService.getProductDTOsSortedByPriceDesc(page, size), request);
+    }
+
+    @GetMapping(value = "/sorted/desc", params = "cursor")
+    public ResponseEntity<?> scrollProductsSortedByPriceDesc(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsSorted("price-desc", cursor, size), request);
     }
 
     @GetMapping("/by-price-greater-than-equal")
@@ -119,9 +205,20 @@ public class ProductController {
             @RequestParam int price,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
-        return new ResponseEntity<>(productService.getProductDTOsByPriceGreaterThanEqual(
-                price, page, size, sortBy), HttpStatus.OK);
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return conditionalPage(productService.getProductDTOsByPriceGreaterThanEqual(
+                price, page, size, sortBy), request);
+    }
+
+    @GetMapping(value = "/by-price-greater-than-equal", params = "cursor")
+    public ResponseEntity<?> scrollProductsByPriceGreaterThan(
+            @RequestParam int price,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsByPriceGreaterThanEqual(price, sortBy, cursor, size), request);
     }
 
     @GetMapping("/by-price-less-than-equal")
@@ -129,9 +226,20 @@ public class ProductController {
             @RequestParam int price,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
-        return new ResponseEntity<>(productService.getProductDTOsByPriceLessThanEqual(
-                price, page, size, sortBy), HttpStatus.OK);
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return conditionalPage(productService.getProductDTOsByPriceLessThanEqual(
+                price, page, size, sortBy), request);
+    }
+
+    @GetMapping(value = "/by-price-less-than-equal", params = "cursor")
+    public ResponseEntity<?> scrollProductsByPriceLessThan(
+            @RequestParam int price,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsByPriceLessThanEqual(price, sortBy, cursor, size), request);
     }
 
     @GetMapping("/price-range")
@@ -140,8 +248,61 @@ public class ProductController {
             @RequestParam int high,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
-        return ResponseEntity.ok(productService.getProductDTOsByPriceBetween(low, high, page, size, sortBy));
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return conditionalPage(productService.getProductDTOsByPriceBetween(low, high, page, size, sortBy), request);
+    }
+
+    @GetMapping(value = "/price-range", params = "cursor")
+    public ResponseEntity<?> scrollProductsByPriceBetween(
+            @RequestParam int low,
+            @RequestParam int high,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollProductDTOsByPriceBetween(low, high, sortBy, cursor, size), request);
+    }
+
+    // Búsqueda combinada: categorías, marcas, etiquetas, rango de precio, estado y stock en una sola consulta
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductDTO>> searchProducts(
+            @ModelAttribute ProductSearchCriteriaDTO criteria,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditionalPage(productService.searchProductDTOs(criteria, sortBy, page, size), request);
+    }
+
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<?> scrollSearchProducts(
+            @ModelAttribute ProductSearchCriteriaDTO criteria,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return cursorPage(() -> productService.scrollSearchProductDTOs(criteria, sortBy, cursor, size), request);
+    }
+
+    // Conteos para la barra lateral con los mismos filtros que /search: marcas, categorías, etiquetas,
+    // estados y tramos de precio (límites en priceBoundaries, p. ej. 1000,5000; si no, los configurados)
+    @GetMapping("/search/facets")
+    public ResponseEntity<ProductFacetsDTO> getProductFacets(
+            @ModelAttribute ProductSearchCriteriaDTO criteria,
+            @RequestParam(required = false) List<Integer> priceBoundaries) {
+        return ResponseEntity.ok(productService.getProductFacets(criteria, priceBoundaries));
+    }
+
+    // Búsqueda de texto en nombre, marca, descripción, categorías y etiquetas, ordenada por relevancia.
+    // No distingue mayúsculas ni tildes, tolera erratas y el último término puede estar a medio escribir
+    @GetMapping("/search/text")
+    public ResponseEntity<Page<ProductDTO>> searchProductsByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditionalPage(productService.searchProductDTOsByText(q, page, size), request);
     }
 
     /*@PostMapping
@@ -174,9 +335,18 @@ public class ProductController {
     }
 
 
+    // Importación masiva: cada producto se valida e inserta por separado y la respuesta indica
+    // el resultado de cada uno, por lo que un producto inválido no cancela la importación
     @PostMapping("/bulk")
-    public ResponseEntity<List<ProductDTO>> createProductDTOs(@Valid @RequestBody List<ProductCreateDTO> productDTOs) {
-        return new ResponseEntity<>(productService.createProductDTOs(productDTOs), HttpStatus.CREATED);
+    public ResponseEntity<BulkImportResultDTO> createProductDTOs(@RequestBody List<ProductCreateDTO> productDTOs) {
+        BulkImportResultDTO result = productService.createProductDTOs(productDTOs);
+
+        if (result.getFailed() == 0) {
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } else if (result.getCreated() > 0) {
+            return new ResponseEntity<>(result, HttpStatus.PARTIAL_CONTENT);
+        }
+        return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
     }
 
     @PutMapping("/update/{id}")
@@ -251,4 +421,59 @@ public class ProductController {
             return new ResponseEntity<>("Error al eliminar productos: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private ResponseEntity<?> cursorPage(Supplier<CursorPageDTO<ProductDTO>> page, WebRequest request) {
+        CursorPageDTO<ProductDTO> cursorPage;
+        try {
+            cursorPage = page.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (notModified(cursorPage.getContent(), cursorPage.getNextCursor(), request)) {
+            return null;
+        }
+        return ResponseEntity.ok(cursorPage);
+    }
+
+    private ResponseEntity<Page<ProductDTO>> conditionalPage(Page<ProductDTO> page, WebRequest request) {
+        if (notModified(page.getContent(), Long.toString(page.getTotalElements()), request)) {
+            return null;
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static boolean notModified(Optional<ProductVersionView> version, WebRequest request) {
+        return version.isPresent() && notModified(version.get().getId(), version.get().getUpdatedAt(), request);
+    }
+
+    // ETag débil "W/<id>-<updatedAt>" y Last-Modified de un producto; true si el cliente ya tiene esa versión
+    // (checkNotModified deja la respuesta en 304; si no, solo añade las cabeceras)
+    private static boolean notModified(Long id, LocalDateTime updatedAt, WebRequest request) {
+        if (updatedAt == null) {
+            return false;
+        }
+        Instant instant = toInstant(updatedAt);
+        String etag = "W/\"" + id + "-" + instant.getEpochSecond() + "." + instant.getNano() + "\"";
+        return request.checkNotModified(etag, instant.toEpochMilli());
+    }
+
+    // Listados: el ETag resume ids y updatedAt de la página más el total (o el siguiente cursor), así cambia
+    // también si un producto entra o sale de la página. Sin Last-Modified: que un producto salga de la página
+    // no cambia el updatedAt más reciente, y un If-Modified-Since solo devolvería un 304 falso
+    private static boolean notModified(List<ProductDTO> content, String pageState, WebRequest request) {
+        StringBuilder versions = new StringBuilder(String.valueOf(pageState));
+        for (ProductDTO product : content) {
+            versions.append(',').append(product.getId()).append('@').append(product.getUpdatedAt());
+        }
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return request.checkNotModified(etag, -1);
+    }
+
+    private static Instant toInstant(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
 }
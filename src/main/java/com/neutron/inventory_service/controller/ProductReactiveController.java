@@ -0,0 +1,118 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.service.ReactiveProductService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+// Lecturas del catálogo sin bloquear: mismas consultas que /api/products, servidas desde R2DBC.
+// Las escrituras siguen en /api/products
+@RestController
+@RequestMapping("/api/reactive/products")
+public class ProductReactiveController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public ProductReactiveController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    // Todo el catálogo en NDJSON; se escribe producto a producto según el cliente lo consume
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDTO> streamAllProducts() {
+        return reactiveProductService.streamAllProductDTOs();
+    }
+
+    @GetMapping("/id/{id}")
+    public Mono<ResponseEntity<?>> getProductById(@PathVariable Long id) {
+        return orNotFoundMessage(reactiveProductService.getProductDTOById(id));
+    }
+
+    @GetMapping("/by-ids")
+    public Mono<ResponseEntity<?>> getProductsById(@RequestParam List<Long> ids) {
+        // Igual que /api/products/by-ids: 404 con un mensaje si no se encontró ninguno
+        return reactiveProductService.getProductDTOsById(ids)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("message", "No se encontraron productos con los IDs proporcionados")));
+    }
+
+    @GetMapping("/sku/{sku}")
+    public Mono<ResponseEntity<?>> getProductBySku(@PathVariable String sku) {
+        return orNotFoundMessage(reactiveProductService.getProductDTOBySku(sku));
+    }
+
+    @GetMapping("/category")
+    public Mono<Page<ProductDTO>> getProductByCategoriesSort(
+            @RequestParam List<String> categories,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return reactiveProductService.getProductDTOsByCategoriesIgnoreCaseSorted(categories, sortBy, page, size);
+    }
+
+    @GetMapping("by-brands")
+    public Mono<Page<ProductDTO>> getProductsByBrandSort(
+            @RequestParam List<String> brands,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return reactiveProductService.getProductDTOsByBrandsIgnoreCaseSorted(brands, sortBy, page, size);
+    }
+
+    @GetMapping("/sorted/asc")
+    public Mono<Page<ProductDTO>> getProductsSortedByPriceAsc(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return reactiveProductService.getProductDTOsSortedByPriceAsc(page, size);
+    }
+
+    @GetMapping("/sorted/desc")
+    public Mono<Page<ProductDTO>> getProductsSortedByPriceDesc(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return reactiveProductService.getProductDTOsSortedByPriceDesc(page, size);
+    }
+
+    @GetMapping("/by-price-greater-than-equal")
+    public Mono<Page<ProductDTO>> getProductsByPriceGreaterThan(
+            @RequestParam int price,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
+        return reactiveProductService.getProductDTOsByPriceGreaterThanEqual(price, page, size, sortBy);
+    }
+
+    @GetMapping("/by-price-less-than-equal")
+    public Mono<Page<ProductDTO>> getProductsByPriceLessThan(
+            @RequestParam int price,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
+        return reactiveProductService.getProductDTOsByPriceLessThanEqual(price, page, size, sortBy);
+    }
+
+    @GetMapping("/price-range")
+    public Mono<Page<ProductDTO>> getProductByPriceBetween(
+            @RequestParam int low,
+            @RequestParam int high,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "price-asc") String sortBy) {
+        return reactiveProductService.getProductDTOsByPriceBetween(low, high, page, size, sortBy);
+    }
+
+    // Igual que /api/products/id y /sku: un producto inexistente responde 200 con el mensaje
+    private static Mono<ResponseEntity<?>> orNotFoundMessage(Mono<ProductDTO> product) {
+        return product.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok("Producto no encontrado"));
+    }
+}
@@ -1,12 +1,18 @@
 package com.neutron.inventory_service.controller;
 
+import com.neutron.inventory_service.dto.StockReservationRequestDTO;
+import com.neutron.inventory_service.dto.StockReservationResultDTO;
 import com.neutron.inventory_service.error.InsufficientStockException;
 import com.neutron.inventory_service.error.ProductNotFoundException;
 import com.neutron.inventory_service.service.StockService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/stock")
 public class StockController {
@@ -24,6 +30,8 @@ public class StockController {
             return ResponseEntity.ok("Producto no encontrado");
         } catch (InsufficientStockException e) {
             return ResponseEntity.ok("Stock insuficiente");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
 
     }
@@ -36,6 +44,40 @@ public class StockController {
             return ResponseEntity.ok("Stock aumentado exitosamente");
         } catch (ProductNotFoundException e) {
             return ResponseEntity.ok("Producto no encontrado");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Reserva todas las líneas de un pedido en una sola transacción: si alguna no tiene stock
+    // suficiente no se reserva ninguna y se responde 409 con la disponibilidad de cada línea
+    @PostMapping("/reserve")
+    public ResponseEntity<StockReservationResultDTO> reserveStock(@Valid @RequestBody StockReservationRequestDTO request) {
+        StockReservationResultDTO result = stockService.reserveStock(request.getLines());
+
+        if (result.isReserved()) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+    }
+
+    @GetMapping("/availability/{productId}")
+    public ResponseEntity<?> checkStockAvailability(@PathVariable Long productId,
+                                                    @RequestParam(defaultValue = "1") int quantity) {
+        try {
+            return ResponseEntity.ok(stockService.checkStockAvailability(productId, quantity));
+        } catch (ProductNotFoundException e) {
+            return ResponseEntity.ok("Producto no encontrado");
+        }
+    }
+
+    // Disponibilidad de varios productos en una sola llamada: {"productId": cantidad, ...}
+    @PostMapping("/availability")
+    public ResponseEntity<?> checkStockAvailability(@RequestBody Map<Long, Integer> quantities) {
+        try {
+            return ResponseEntity.ok(stockService.checkStockAvailability(quantities));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
@@ -0,0 +1,23 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportItemDTO {
+
+    private int index; // Posición del producto en la petición
+
+    private String sku;
+
+    private boolean success;
+
+    private Long id; // Id asignado si el producto se creó
+
+    private String message; // Motivo del fallo si no se creó
+}
@@ -0,0 +1,23 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportResultDTO {
+
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private List<BulkImportItemDTO> items; // Resultado de cada producto, en el orden de la petición
+}
@@ -0,0 +1,27 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LowStockEventDTO {
+
+    private Long productId;
+
+    private String sku;
+
+    private String name;
+
+    private int stock; // Stock después del cambio que generó el evento
+
+    private int threshold; // Umbral por debajo del cual se considera stock bajo
+
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,26 @@
+package com.neutron.inventory_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Mensaje de la cola order.placed: un pedido confirmado cuyas líneas hay que descontar del stock
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderPlacedEventDTO {
+    @NotBlank(message = "El id del pedido es obligatorio")
+    @Size(max = 100, message = "El id del pedido no puede superar los 100 caracteres")
+    private String orderId;
+
+    @NotEmpty(message = "El pedido debe tener al menos una línea")
+    private List<@Valid StockReservationLineDTO> lines;
+}
@@ -0,0 +1,23 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pedido de order.placed que no se pudo reservar por falta de stock; se envía a la ruta de dead-letter
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderRejectedEventDTO {
+
+    private String orderId;
+
+    private List<StockReservationLineResultDTO> lines; // Disponibilidad de cada línea al procesar el pedido
+
+    private LocalDateTime occurredAt;
+}
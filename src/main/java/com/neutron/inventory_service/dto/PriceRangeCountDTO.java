@@ -0,0 +1,19 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PriceRangeCountDTO {
+
+    private Integer min; // Incluido; null en el primer tramo
+
+    private Integer max; // Excluido; null en el último tramo
+
+    private long count;
+}
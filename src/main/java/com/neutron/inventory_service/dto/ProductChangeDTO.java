@@ -0,0 +1,30 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Un cambio del feed GET /api/products/changes
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductChangeDTO {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private Type type; // CREATED si el producto se creó después del token de la petición
+
+    private Long productId;
+
+    private String sku;
+
+    private LocalDateTime changedAt; // updatedAt del producto o fecha del borrado
+
+    private ProductDTO product; // Estado actual del producto; null si se borró
+
+    private String token; // Token para continuar justo después de este cambio
+}
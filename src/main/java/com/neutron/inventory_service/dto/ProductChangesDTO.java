@@ -0,0 +1,22 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Página del feed de cambios: nextToken es el since de la siguiente petición, haya o no más cambios
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductChangesDTO {
+
+    private List<ProductChangeDTO> changes;
+
+    private boolean hasMore; // Hay más cambios ya disponibles: pedir la siguiente página sin esperar
+
+    private String nextToken;
+}
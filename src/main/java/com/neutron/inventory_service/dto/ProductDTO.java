@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
@@ -44,8 +45,14 @@ public class ProductDTO {
 
     private String imagePath; // Ruta relativa de la imagen
 
+    private String thumbnailPath; // Versión reducida para miniaturas (se genera tras la subida)
+
+    private String listingPath; // Versión reducida para listados
+
     private Set<String> categoryNames; // Para referencia a las categorías
 
     private Set<String> tagNames; // Para referencia a las etiquetas
 
+    private LocalDateTime updatedAt; // Última modificación; de ella salen el ETag y Last-Modified de las lecturas
+
 }
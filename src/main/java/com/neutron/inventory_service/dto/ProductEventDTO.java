@@ -0,0 +1,34 @@
+package com.neutron.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Evento de productExchange; el tipo va en la clave de enrutamiento y solo se envían los campos que aplican
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductEventDTO {
+
+    private Long productId;
+
+    private String sku;
+
+    private ProductDTO product; // Producto completo en altas y modificaciones
+
+    private Integer price; // Precio tras el cambio (price-changed)
+
+    private Integer previousPrice;
+
+    private Integer stock; // Stock tras el cambio (stock-changed)
+
+    private Integer previousStock;
+
+    private LocalDateTime occurredAt;
+}
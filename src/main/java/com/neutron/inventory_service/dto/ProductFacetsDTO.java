@@ -0,0 +1,29 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Respuesta de GET /api/products/search/facets: cada faceta cuenta con todos los filtros salvo el suyo
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductFacetsDTO {
+
+    private long total; // Productos que cumplen todos los filtros
+
+    private Map<String, Long> brands; // Valor -> productos, de más a menos
+
+    private Map<String, Long> categories;
+
+    private Map<String, Long> tags;
+
+    private Map<String, Long> statuses;
+
+    private List<PriceRangeCountDTO> priceRanges;
+}
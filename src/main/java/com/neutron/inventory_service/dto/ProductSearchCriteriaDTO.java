@@ -0,0 +1,30 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Filtros de GET /api/products/search; los que no se envían no se aplican
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class ProductSearchCriteriaDTO {
+
+    private List<String> categories; // Al menos una de las categorías (sin distinguir mayúsculas)
+
+    private List<String> brands;
+
+    private List<String> tags; // Al menos una de las etiquetas (sin distinguir mayúsculas)
+
+    private Integer minPrice;
+
+    private Integer maxPrice;
+
+    private String status;
+
+    private Boolean inStock; // true: solo productos con stock mayor que 0
+}
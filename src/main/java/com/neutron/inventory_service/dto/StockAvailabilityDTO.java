@@ -0,0 +1,20 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockAvailabilityDTO {
+
+    private Map<Long, Boolean> available; // productId -> hay stock suficiente para la cantidad pedida
+
+    private List<Long> notFoundIds;
+}
@@ -0,0 +1,20 @@
+package com.neutron.inventory_service.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservationLineDTO {
+    @NotNull(message = "El id del producto es obligatorio")
+    private Long productId;
+
+    @Min(value = 1, message = "La cantidad debe ser mayor a 0")
+    private int quantity;
+}
@@ -0,0 +1,23 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservationLineResultDTO {
+
+    private Long productId;
+
+    private int requested; // Cantidad pedida (sumando las líneas del mismo producto)
+
+    private int available; // Stock disponible antes de la reserva (0 si el producto no existe)
+
+    private boolean found;
+
+    private boolean sufficient;
+}
@@ -0,0 +1,19 @@
+package com.neutron.inventory_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservationRequestDTO {
+    @NotEmpty(message = "El pedido debe tener al menos una línea")
+    private List<@Valid StockReservationLineDTO> lines;
+}
@@ -0,0 +1,19 @@
+package com.neutron.inventory_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservationResultDTO {
+
+    private boolean reserved; // true si se reservaron todas las líneas, false si no se reservó ninguna
+
+    private List<StockReservationLineResultDTO> lines;
+}
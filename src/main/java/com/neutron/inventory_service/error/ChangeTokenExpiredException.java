@@ -0,0 +1,12 @@
+package com.neutron.inventory_service.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// El token es anterior a la retención de los borrados: el consumidor debe volver a cargar el catálogo completo
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenExpiredException extends RuntimeException {
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -5,6 +5,8 @@ import com.neutron.inventory_service.dto.ProductDTO;
 import com.neutron.inventory_service.model.Category;
 import com.neutron.inventory_service.model.Product;
 import com.neutron.inventory_service.model.Tag;
+import com.neutron.inventory_service.repository.projection.ProductExportView;
+import com.neutron.inventory_service.storage.ImageVariant;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
@@ -84,8 +86,33 @@ public class ProductMapper {
                 .dimensions(product.getDimensions())
                 .status(product.getStatus())
                 .imagePath(product.getImagePath())
+                .thumbnailPath(ImageVariant.THUMBNAIL.path(product.getImagePath()))
+                .listingPath(ImageVariant.LISTING.path(product.getImagePath()))
                 .categoryNames(categoryNames)
                 .tagNames(tagNames)
+                .updatedAt(product.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    // Convierte una proyección de producto a ProductDTO con nombres ya cargados en bloque
+    public ProductDTO toDto(ProductExportView view, Set<String> categoryNames, Set<String> tagNames) {
+        return ProductDTO.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .sku(view.getSku())
+                .stock(view.getStock())
+                .brand(view.getBrand())
+                .price(view.getPrice())
+                .weight(view.getWeight())
+                .dimensions(view.getDimensions())
+                .status(view.getStatus())
+                .imagePath(view.getImagePath())
+                .thumbnailPath(ImageVariant.THUMBNAIL.path(view.getImagePath()))
+                .listingPath(ImageVariant.LISTING.path(view.getImagePath()))
+                .categoryNames(categoryNames)
+                .tagNames(tagNames)
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.neutron.inventory_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.dto.OrderPlacedEventDTO;
+import com.neutron.inventory_service.dto.StockReservationResultDTO;
+import com.neutron.inventory_service.service.StockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Consume los pedidos de la cola order.placed y descuenta su stock, en lugar de una llamada a
+ * /api/stock/reduce por línea.
+ * <p>
+ * Recibe los mensajes en lotes (ver {@code orderBatchListenerContainerFactory}) y reserva todos los
+ * pedidos del lote en una transacción, con un bloqueo y un UPDATE por producto. Cada pedido se
+ * aplica una sola vez aunque se entregue varias (tabla processed_orders). Los mensajes ilegibles o
+ * inválidos se envían a la ruta {@code order.placed.invalid} del dead-letter exchange, y los pedidos sin
+ * stock suficiente a {@code order.placed.insufficient-stock}. Si la base de datos falla, el lote entero
+ * se devuelve a la cola y se reintenta.
+ */
+@Slf4j
+@Component
+public class OrderPlacedListener {
+
+    static final String ERROR_HEADER = "x-inventory-error";
+
+    private final StockService stockService;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private final Counter reserved;
+    private final Counter rejected;
+    private final Counter duplicated;
+    private final Counter invalid;
+
+    public OrderPlacedListener(StockService stockService, RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
+                               Validator validator, MeterRegistry meterRegistry) {
+        this.stockService = stockService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+
+        this.reserved = meterRegistry.counter("inventory.orders.reserved");
+        this.rejected = meterRegistry.counter("inventory.orders.rejected");
+        this.duplicated = meterRegistry.counter("inventory.orders.duplicated");
+        this.invalid = meterRegistry.counter("inventory.orders.invalid");
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.ORDER_PLACED_QUEUE, containerFactory = "orderBatchListenerContainerFactory")
+    public void onOrders(List<Message> messages) {
+        List<OrderPlacedEventDTO> orders = new ArrayList<>(messages.size());
+        List<Message> invalidMessages = new ArrayList<>();
+        for (Message message : messages) {
+            String error = null;
+            try {
+                OrderPlacedEventDTO order = objectMapper.readValue(message.getBody(), OrderPlacedEventDTO.class);
+                Set<ConstraintViolation<OrderPlacedEventDTO>> violations = validator.validate(order);
+                if (violations.isEmpty()) {
+                    orders.add(order);
+                } else {
+                    error = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+                }
+            } catch (IOException e) {
+                error = "Mensaje ilegible: " + e.getMessage();
+            }
+            if (error != null) {
+                invalidMessages.add(MessageBuilder.fromMessage(message).setHeader(ERROR_HEADER, error).build());
+            }
+        }
+
+        if (!orders.isEmpty()) {
+            Map<String, StockReservationResultDTO> results = reserve(orders);
+            long reservedOrders = results.values().stream().filter(StockReservationResultDTO::isReserved).count();
+            reserved.increment(reservedOrders);
+            rejected.increment(results.size() - reservedOrders);
+            duplicated.increment(orders.size() - results.size());
+        }
+
+        // Después de aplicar el lote: si falla, se reintenta entero y estos mensajes se volverían a enviar
+        for (Message message : invalidMessages) {
+            log.warn("Pedido inválido enviado a {}: {}", RabbitMQConfig.ORDER_INVALID_ROUTING_KEY,
+                    message.getMessageProperties().getHeader(ERROR_HEADER).toString());
+            rabbitTemplate.send(RabbitMQConfig.ORDER_DEAD_LETTER_EXCHANGE, RabbitMQConfig.ORDER_INVALID_ROUTING_KEY, message);
+            invalid.increment();
+        }
+    }
+
+    private Map<String, StockReservationResultDTO> reserve(List<OrderPlacedEventDTO> orders) {
+        try {
+            return stockService.reserveStockForOrders(orders);
+        } catch (DataIntegrityViolationException e) {
+            // Otro consumidor registró a la vez alguno de los pedidos: al repetir, ya aparece como procesado
+            log.debug("Lote de pedidos con un pedido procesado a la vez por otro consumidor; se repite", e);
+            return stockService.reserveStockForOrders(orders);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.neutron.inventory_service.messaging;
+
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.model.OutboxEvent;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageBuilderSupport;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publica en RabbitMQ los eventos pendientes de la tabla outbox_events.
+ * <p>
+ * En cada ciclo ({@code inventory.outbox.poll-interval-ms}) arrancan
+ * {@code inventory.outbox.parallelism} publicadores, uno por partición: el publicador {@code i}
+ * solo toma los eventos con {@code mod(aggregate_id, parallelism) = i}, así que todos los eventos
+ * de un producto los publica siempre el mismo y en orden de inserción (un {@code product.updated}
+ * nunca sale detrás del {@code product.deleted} del mismo producto). Cada uno bloquea un lote de
+ * {@code inventory.outbox.batch-size} filas de su partición con NOWAIT, lo envía por un único
+ * canal, espera las confirmaciones del broker y borra las filas en la misma transacción. Si otra
+ * instancia tiene la partición bloqueada, la deja para el siguiente ciclo; por eso todas las
+ * instancias deben usar el mismo {@code parallelism}. Si el envío falla la transacción se deshace
+ * y las filas se reintentan en el siguiente ciclo, por lo que la entrega es al menos una vez: los
+ * consumidores pueden deduplicar con el messageId.
+ * <p>
+ * Los avisos de stock bajo repetidos de un mismo producto dentro de un lote se publican como uno
+ * solo, el más reciente; las filas de los demás se borran igualmente.
+ * <p>
+ * Métricas: {@code inventory.outbox.pending} (filas sin publicar) e {@code inventory.outbox.oldest.age}
+ * (antigüedad de la más antigua) se leen de la tabla en cada consulta, así que también muestran un
+ * relay parado o un broker que no confirma.
+ * <p>
+ * Con {@code spring.threads.virtual.enabled=true} (Java 21+) los publicadores son hilos virtuales;
+ * el límite de concurrencia sigue siendo {@code inventory.outbox.parallelism}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    // Eventos de los que solo interesa el último por producto
+    private static final Set<String> COALESCED_ROUTING_KEYS = Set.of(RabbitMQConfig.STOCK_LOW_ROUTING_KEY);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpleAsyncTaskExecutor executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int parallelism;
+    private final long confirmTimeoutMillis;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Counter coalesced;
+    private final Timer publishTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       Environment environment,
+                       @Value("${inventory.outbox.relay-enabled:true}") boolean enabled,
+                       @Value("${inventory.outbox.batch-size:100}") int batchSize,
+                       @Value("${inventory.outbox.parallelism:2}") int parallelism,
+                       @Value("${inventory.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new SimpleAsyncTaskExecutor("outbox-relay-");
+        this.executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        this.executor.setConcurrencyLimit(parallelism);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+
+        this.published = meterRegistry.counter("inventory.outbox.published");
+        this.failed = meterRegistry.counter("inventory.outbox.failed");
+        this.coalesced = meterRegistry.counter("inventory.outbox.coalesced");
+        this.publishTimer = meterRegistry.timer("inventory.outbox.publish");
+        Gauge.builder("inventory.outbox.pending", outboxEventRepository, OutboxEventRepository::count)
+                .register(meterRegistry);
+        TimeGauge.builder("inventory.outbox.oldest.age", outboxEventRepository, TimeUnit.MILLISECONDS,
+                        OutboxRelay::oldestEventAgeMillis)
+                .register(meterRegistry);
+    }
+
+    private static double oldestEventAgeMillis(OutboxEventRepository outboxEventRepository) {
+        return outboxEventRepository.findOldestCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis())
+                .orElse(0L);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    // Publica lotes en paralelo hasta vaciar la tabla o hasta que falle un envío; devuelve los eventos publicados
+    public int drain() {
+        // Tras un fallo ningún publicador toma más lotes en este ciclo, para no reintentar en bucle contra un broker caído
+        AtomicBoolean brokerFailed = new AtomicBoolean();
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            int partition = i;
+            workers.add(executor.submit(() -> {
+                int total = 0;
+                int sent;
+                do {
+                    sent = publishBatch(partition, brokerFailed);
+                    total += sent;
+                } while (sent == batchSize);
+                return total;
+            }));
+        }
+
+        int total = 0;
+        try {
+            for (Future<Integer> result : workers) {
+                total += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Error inesperado al vaciar la tabla outbox_events", e.getCause());
+        }
+        return total;
+    }
+
+    private int publishBatch(int partition, AtomicBoolean brokerFailed) {
+        if (brokerFailed.get()) {
+            return 0;
+        }
+        try {
+            Integer sent = transactionTemplate.execute(status -> {
+                List<OutboxEvent> events = outboxEventRepository.findPartitionBatch(partition, parallelism, Limit.of(batchSize));
+                if (events.isEmpty() || brokerFailed.get()) {
+                    return 0;
+                }
+
+                List<OutboxEvent> messages = coalesce(events);
+                try {
+                    publishTimer.record(() -> rabbitTemplate.invoke(operations -> {
+                        for (OutboxEvent event : messages) {
+                            operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+                        }
+                        operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+                        return null;
+                    }));
+                } catch (RuntimeException e) {
+                    // Se marca antes del rollback, cuando las filas aún están bloqueadas
+                    brokerFailed.set(true);
+                    throw e;
+                }
+                outboxEventRepository.deleteAllInBatch(events);
+                published.increment(messages.size());
+                coalesced.increment(events.size() - messages.size());
+                return events.size();
+            });
+            return sent;
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("La partición {} de outbox_events la está publicando otra instancia", partition);
+            return 0;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("No se pudo publicar un lote de la tabla outbox_events: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    // Quita los eventos de COALESCED_ROUTING_KEYS que tienen otro posterior del mismo producto en el lote
+    static List<OutboxEvent> coalesce(List<OutboxEvent> events) {
+        Set<List<Object>> seen = new HashSet<>();
+        List<OutboxEvent> latestFirst = new ArrayList<>(events.size());
+        for (int i = events.size() - 1; i >= 0; i--) {
+            OutboxEvent event = events.get(i);
+            if (!COALESCED_ROUTING_KEYS.contains(event.getRoutingKey()) || event.getAggregateId() == null
+                    || seen.add(List.of(event.getExchange(), event.getRoutingKey(), event.getAggregateId()))) {
+                latestFirst.add(event);
+            }
+        }
+        Collections.reverse(latestFirst);
+        return latestFirst;
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageBuilderSupport<Message> message = MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(String.valueOf(event.getId()));
+        if (event.getCreatedAt() != null) {
+            message.setTimestamp(Timestamp.valueOf(event.getCreatedAt()));
+        }
+        return message.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.neutron.inventory_service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.dto.ProductEventDTO;
+import com.neutron.inventory_service.model.OutboxEvent;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Registra en la tabla outbox_events los eventos de productExchange: alta, modificación, borrado y,
+ * además de la modificación, cambio de precio y de stock cuando corresponde. Los movimientos de
+ * stock de StockService (ventas, reposiciones y reservas) solo generan el cambio de stock.
+ * <p>
+ * Igual que {@link StockEventOutbox}, se une a la transacción del llamador, así que los eventos solo
+ * existen si el cambio se confirma; los de una operación se insertan en un único lote JDBC y
+ * {@link OutboxRelay} los publica después por lotes con confirmación del broker.
+ */
+@Component
+public class ProductEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    // Stock de un producto antes y después de una transacción
+    public record StockChange(Long productId, String sku, int previousStock, int stock) {
+    }
+
+    public ProductEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void appendCreated(List<ProductDTO> products) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.insertAllInBatch(products.stream()
+                .map(product -> toOutboxEvent(RabbitMQConfig.PRODUCT_CREATED_ROUTING_KEY, ProductEventDTO.builder()
+                        .productId(product.getId())
+                        .sku(product.getSku())
+                        .product(product)
+                        .occurredAt(now)
+                        .build()))
+                .toList());
+    }
+
+    @Transactional
+    public void appendUpdated(ProductDTO product, Integer previousPrice, int previousStock) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(3);
+        events.add(toOutboxEvent(RabbitMQConfig.PRODUCT_UPDATED_ROUTING_KEY, ProductEventDTO.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .product(product)
+                .occurredAt(now)
+                .build()));
+
+        // Eventos pequeños para los consumidores que solo siguen precios o stock
+        if (!Objects.equals(previousPrice, product.getPrice())) {
+            events.add(toOutboxEvent(RabbitMQConfig.PRODUCT_PRICE_CHANGED_ROUTING_KEY, ProductEventDTO.builder()
+                    .productId(product.getId())
+                    .sku(product.getSku())
+                    .price(product.getPrice())
+                    .previousPrice(previousPrice)
+                    .occurredAt(now)
+                    .build()));
+        }
+        if (previousStock != product.getStock()) {
+            events.add(toOutboxEvent(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY, ProductEventDTO.builder()
+                    .productId(product.getId())
+                    .sku(product.getSku())
+                    .stock(product.getStock())
+                    .previousStock(previousStock)
+                    .occurredAt(now)
+                    .build()));
+        }
+        outboxEventRepository.insertAllInBatch(events);
+    }
+
+    // Un evento por producto cuyo stock cambió, con el valor neto de la transacción
+    @Transactional
+    public void appendStockChanged(Collection<StockChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = changes.stream()
+                .filter(change -> change.previousStock() != change.stock())
+                .map(change -> toOutboxEvent(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY, ProductEventDTO.builder()
+                        .productId(change.productId())
+                        .sku(change.sku())
+                        .stock(change.stock())
+                        .previousStock(change.previousStock())
+                        .occurredAt(now)
+                        .build()))
+                .toList();
+        if (!events.isEmpty()) {
+            outboxEventRepository.insertAllInBatch(events);
+        }
+    }
+
+    // skusById: id y SKU de cada producto borrado
+    @Transactional
+    public void appendDeleted(Map<Long, String> skusById) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.insertAllInBatch(skusById.entrySet().stream()
+                .map(entry -> toOutboxEvent(RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY, ProductEventDTO.builder()
+                        .productId(entry.getKey())
+                        .sku(entry.getValue())
+                        .occurredAt(now)
+                        .build()))
+                .toList());
+    }
+
+    private OutboxEvent toOutboxEvent(String routingKey, ProductEventDTO event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el evento " + routingKey, e);
+        }
+
+        return OutboxEvent.builder()
+                .exchange(RabbitMQConfig.PRODUCT_EXCHANGE)
+                .routingKey(routingKey)
+                .aggregateId(event.getProductId())
+                .payload(json)
+                .createdAt(event.getOccurredAt())
+                .build();
+    }
+}
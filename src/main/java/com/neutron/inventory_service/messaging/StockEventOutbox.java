@@ -0,0 +1,43 @@
+package com.neutron.inventory_service.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.model.OutboxEvent;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registra los eventos a publicar en la tabla outbox_events.
+ * <p>
+ * Se une a la transacción del llamador, por lo que el evento se guarda o se descarta junto con
+ * el cambio de stock que lo origina. {@link OutboxRelay} lo publica después en RabbitMQ.
+ */
+@Component
+public class StockEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public StockEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void append(String exchange, String routingKey, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el evento " + routingKey, e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.neutron.inventory_service.model;
 
+import com.neutron.inventory_service.cache.DictionaryCacheListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(DictionaryCacheListener.class)
 @Table(name = "categories")
 @Data
 @AllArgsConstructor
@@ -0,0 +1,37 @@
+package com.neutron.inventory_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Evento pendiente de publicar en RabbitMQ, escrito en la misma transacción que el cambio que lo origina
+@Entity
+@Table(name = "outbox_events")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    private Long aggregateId; // Id del producto al que se refiere el evento
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload; // Cuerpo del mensaje en JSON
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.neutron.inventory_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Pedido de order.placed ya aplicado, para descartar redeliveries; se purga pasado el periodo de retención
+@Entity
+@Table(name = "processed_orders")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProcessedOrder implements Persistable<String> {
+    @Id
+    private String orderId;
+
+    @Column(nullable = false)
+    private boolean reserved; // false si se rechazó por stock insuficiente
+
+    @Column(nullable = false)
+    private LocalDateTime processedAt;
+
+    // El id lo asigna el pedido: sin esto save() haría un SELECT por fila antes de cada INSERT
+    @Override
+    public String getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
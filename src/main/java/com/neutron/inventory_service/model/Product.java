@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+// Los índices (incluidos los de upper(brand) y upper(status)) se crean en las migraciones de db/migration
 @Table(name = "products")
 @Data
 @AllArgsConstructor
@@ -23,6 +25,7 @@ public class Product {
     private Long id;
 
     //@NotBlank(message = "El nombre del producto es obligatorio")
+    @Column(nullable = false)
     private String name;
 
     @Column(columnDefinition = "TEXT")
@@ -39,6 +42,7 @@ public class Product {
 
     /*@Min(value = 1, message = "El precio debe ser mayor a 0")
     @NotNull(message = "El precio es obligatorio")*/
+    @Column(nullable = false)
     private Integer price;
 
     //@Min(value = 1, message = "El peso debe ser mayor a 0")
@@ -59,6 +63,8 @@ public class Product {
             inverseJoinColumns = @JoinColumn(name = "category_id")
     )
     //@NotNull(message = "Las categorías son obligatorias")
+    // Carga por lotes: las categorías de toda una página se obtienen con una sola consulta
+    @BatchSize(size = 100)
     private Set<Category> categories;
 
     @ManyToMany
@@ -67,6 +73,8 @@ public class Product {
             joinColumns = @JoinColumn(name = "product_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
+    // Carga por lotes: las etiquetas de toda una página se obtienen con una sola consulta
+    @BatchSize(size = 100)
     private Set<Tag> tags;
 
     // Campo para fecha de creación
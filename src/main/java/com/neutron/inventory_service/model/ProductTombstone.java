@@ -0,0 +1,26 @@
+package com.neutron.inventory_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Rastro de un producto borrado para el feed de cambios; se purga pasado el periodo de retención
+@Entity
+@Table(name = "product_tombstones")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductTombstone {
+    @Id
+    private Long productId;
+
+    private String sku;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
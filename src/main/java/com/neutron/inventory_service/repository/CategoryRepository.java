@@ -3,9 +3,12 @@ package com.neutron.inventory_service.repository;
 import com.neutron.inventory_service.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name);
     Optional<Category> findByName(String name);
+    List<Category> findByNameInIgnoreCase(Collection<String> names);
 }
@@ -0,0 +1,12 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.OutboxEvent;
+
+import java.util.List;
+
+// Inserción de eventos de la outbox en lote JDBC (con ids IDENTITY, Hibernate inserta fila a fila)
+public interface OutboxEventBulkRepository {
+
+    // Inserta los eventos en un solo lote; se une a la transacción del llamador
+    void insertAllInBatch(List<OutboxEvent> events);
+}
@@ -0,0 +1,34 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Implementación del fragmento OutboxEventBulkRepository (Spring Data la asocia por el sufijo Impl)
+class OutboxEventBulkRepositoryImpl implements OutboxEventBulkRepository {
+
+    private static final String INSERT_EVENT = "INSERT INTO outbox_events (exchange, routing_key, aggregate_id, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxEventBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAllInBatch(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events.stream()
+                .map(event -> new Object[]{event.getExchange(), event.getRoutingKey(), event.getAggregateId(),
+                        event.getPayload(), event.getCreatedAt() != null ? Timestamp.valueOf(event.getCreatedAt()) : now})
+                .toList());
+    }
+}
@@ -0,0 +1,30 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventBulkRepository {
+
+    // Siguiente lote de una partición (mod(aggregate_id, partitions) = partition) en orden de inserción.
+    // SELECT ... FOR UPDATE NOWAIT: si otra instancia ya publica la partición falla en vez de saltarse sus
+    // filas bloqueadas y publicar las siguientes, que serían eventos posteriores de los mismos productos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("select e from OutboxEvent e where mod(coalesce(e.aggregateId, 0L), :partitions) = :partition order by e.id")
+    List<OutboxEvent> findPartitionBatch(@Param("partition") int partition, @Param("partitions") int partitions, Limit limit);
+
+    // Fecha del evento pendiente más antiguo; vacío si la outbox está al día
+    @Query("select min(e.createdAt) from OutboxEvent e")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
@@ -0,0 +1,23 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.ProcessedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProcessedOrderRepository extends JpaRepository<ProcessedOrder, String> {
+
+    @Query("select o.orderId from ProcessedOrder o where o.orderId in :orderIds")
+    List<String> findExistingOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProcessedOrder o where o.processedAt < :before")
+    int deleteByProcessedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,15 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Product;
+
+import java.util.List;
+
+// Operaciones de inserción masiva por JDBC, fuera del ciclo de vida de JPA
+public interface ProductBulkRepository {
+
+    // Inserta los productos en un solo lote JDBC y asigna a cada uno el id generado
+    void insertAllInBatch(List<Product> products);
+
+    // Inserta en lote las filas de product_category y product_tags de productos ya insertados
+    void insertAssociationsInBatch(List<Product> products);
+}
@@ -0,0 +1,106 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Implementación del fragmento ProductBulkRepository (Spring Data la asocia por el sufijo Impl)
+class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (name, description, sku, stock, brand, price, "
+            + "weight, dimensions, status, image_path, average_rating, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY = "INSERT INTO product_category (product_id, category_id) VALUES (?, ?)";
+    private static final String INSERT_PRODUCT_TAG = "INSERT INTO product_tags (product_id, tag_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAllInBatch(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_PRODUCT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        ps.setString(1, product.getName());
+                        ps.setString(2, product.getDescription());
+                        ps.setString(3, product.getSku());
+                        ps.setInt(4, product.getStock());
+                        ps.setString(5, product.getBrand());
+                        ps.setObject(6, product.getPrice(), Types.INTEGER);
+                        ps.setDouble(7, product.getWeight());
+                        ps.setString(8, product.getDimensions());
+                        ps.setString(9, product.getStatus());
+                        ps.setString(10, product.getImagePath());
+                        ps.setDouble(11, product.getAverageRating());
+                        ps.setTimestamp(12, now);
+                        ps.setTimestamp(13, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keyHolder);
+
+        // Las claves generadas llegan en el mismo orden que las filas del lote
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            product.setId(((Number) Objects.requireNonNull(keys.get(i).get("id"))).longValue());
+            product.setCreatedAt(now.toLocalDateTime());
+            product.setUpdatedAt(now.toLocalDateTime());
+        }
+    }
+
+    @Override
+    public void insertAssociationsInBatch(List<Product> products) {
+        List<Object[]> categoryRows = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+
+        for (Product product : products) {
+            if (product.getCategories() != null) {
+                for (Category category : product.getCategories()) {
+                    categoryRows.add(new Object[]{product.getId(), category.getId()});
+                }
+            }
+            if (product.getTags() != null) {
+                for (Tag tag : product.getTags()) {
+                    tagRows.add(new Object[]{product.getId(), tag.getId()});
+                }
+            }
+        }
+
+        if (!categoryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, categoryRows);
+        }
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_TAG, tagRows);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Conteos agrupados para las facetas de la búsqueda, una consulta por faceta
+public interface ProductFacetRepository {
+
+    enum Facet { BRAND, STATUS, CATEGORY, TAG }
+
+    // Productos que cumplen el filtro por cada valor de la faceta, de más a menos y como mucho maxValues valores
+    Map<String, Long> countByFacet(Facet facet, Specification<Product> filter, int maxValues);
+
+    // Productos que cumplen el filtro en cada tramo de precio delimitado por los límites (ordenados):
+    // por debajo del primero, entre cada par consecutivo (el superior excluido) y desde el último
+    List<Long> countByPriceRanges(Specification<Product> filter, List<Integer> boundaries);
+}
@@ -0,0 +1,99 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Implementación del fragmento ProductFacetRepository (Spring Data la asocia por el sufijo Impl)
+class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    private final EntityManager entityManager;
+
+    ProductFacetRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Map<String, Long> countByFacet(Facet facet, Specification<Product> filter, int maxValues) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        // Un producto tiene cada categoría o etiqueta una sola vez, así que el join no lo cuenta dos veces.
+        // Marca y estado se filtran sin distinguir mayúsculas, así que se agrupan por upper() (el mismo índice
+        // funcional) y se muestra una de sus grafías; los nombres de categoría y etiqueta ya son únicos así
+        Expression<String> key;
+        Expression<String> value;
+        switch (facet) {
+            case BRAND, STATUS -> {
+                Path<String> column = root.get(facet == Facet.BRAND ? "brand" : "status");
+                key = cb.upper(column);
+                value = cb.least(column);
+            }
+            case CATEGORY -> key = value = root.join("categories").get("name");
+            case TAG -> key = value = root.join("tags").get("name");
+            default -> throw new IllegalArgumentException("Faceta no soportada: " + facet);
+        }
+        Expression<Long> count = cb.count(root);
+        query.multiselect(value, count)
+                .groupBy(key)
+                .orderBy(cb.desc(count), cb.asc(key));
+        where(query, filter.toPredicate(root, query, cb));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).setMaxResults(maxValues).getResultList()) {
+            if (row.get(0) != null) {
+                counts.put(row.get(0, String.class), row.get(1, Long.class));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Long> countByPriceRanges(Specification<Product> filter, List<Integer> boundaries) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<Integer> price = root.get("price");
+
+        // sum(case when <tramo> then 1 else 0 end) por tramo: todos en una sola pasada
+        List<Selection<?>> ranges = new ArrayList<>();
+        for (int i = 0; i <= boundaries.size(); i++) {
+            Predicate inRange = i == 0
+                    ? cb.lessThan(price, boundaries.get(0))
+                    : i == boundaries.size()
+                    ? cb.greaterThanOrEqualTo(price, boundaries.get(i - 1))
+                    : cb.and(cb.greaterThanOrEqualTo(price, boundaries.get(i - 1)), cb.lessThan(price, boundaries.get(i)));
+            ranges.add(cb.sum(cb.<Long>selectCase().when(inRange, cb.literal(1L)).otherwise(cb.literal(0L))));
+        }
+        query.multiselect(ranges);
+        where(query, filter.toPredicate(root, query, cb));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        List<Long> counts = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            Number count = row.get(i, Number.class);
+            counts.add(count != null ? count.longValue() : 0L); // sum() es null si ningún producto cumple el filtro
+        }
+        return counts;
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package com.neutron.inventory_service.repository;
 
 import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import com.neutron.inventory_service.repository.projection.ProductChangeView;
+import com.neutron.inventory_service.repository.projection.ProductExportView;
+import com.neutron.inventory_service.repository.projection.ProductStockView;
+import com.neutron.inventory_service.repository.projection.ProductVersionView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductBulkRepository, ProductFacetRepository {
 
     Optional<Product> findBySku(String sku);
 
+    @Query("select p.id from Product p where p.sku = :sku")
+    Optional<Long> findIdBySku(@Param("sku") String sku);
+
     // Buscar productos por lista de categorías, ignorando mayúsculas y minúsculas
     Page<Product> findByCategories_NameInIgnoreCase(List<String> categoryNames, Pageable pageable);
 
@@ -33,6 +53,72 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Buscar productos en un rango de precio
     Page<Product> findByPriceBetween(int low, int high, Pageable pageable);
 
+    // Variantes por cursor (keyset) de los listados anteriores: continúan desde la posición dada,
+    // leen una fila de más para saber si hay siguiente página y no ejecutan count(*)
+    Window<Product> findDistinctByCategories_NameInIgnoreCase(List<String> categoryNames, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByBrandInIgnoreCase(List<String> brands, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByPriceGreaterThanEqual(int price, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByPriceLessThanEqual(int price, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByPriceBetween(int low, int high, ScrollPosition position, Sort sort, Limit limit);
+
     boolean existsBySku(String sku);
 
+    // Rutas de imagen de la lista que usa algún producto, en una sola consulta
+    @Query("select distinct p.imagePath from Product p where p.imagePath in :paths")
+    List<String> findUsedImagePaths(@Param("paths") Collection<String> paths);
+
+    // SKUs de la lista que ya existen, en una sola consulta
+    @Query("select p.sku from Product p where p.sku in :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    // Siguiente bloque de productos con id mayor al dado (cursor por id, sin OFFSET ni count)
+    List<ProductExportView> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Productos modificados después de (updatedAt, id) y no después de until, en orden (keyset, sin OFFSET)
+    @Query("select p.id as id, p.name as name, p.description as description, p.sku as sku, p.stock as stock, "
+            + "p.brand as brand, p.price as price, p.weight as weight, p.dimensions as dimensions, p.status as status, "
+            + "p.imagePath as imagePath, p.createdAt as createdAt, p.updatedAt as updatedAt from Product p "
+            + "where (p.updatedAt > :updatedAt or (p.updatedAt = :updatedAt and p.id > :id)) "
+            + "and p.updatedAt <= :until order by p.updatedAt, p.id")
+    List<ProductChangeView> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                             @Param("until") LocalDateTime until, Limit limit);
+
+    // Nombres de categorías de un bloque de productos en una sola consulta
+    @Query("select p.id as productId, c.name as name from Product p join p.categories c where p.id in :productIds")
+    List<ProductAssociationView> findCategoryNamesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Nombres de etiquetas de un bloque de productos en una sola consulta
+    @Query("select p.id as productId, t.name as name from Product p join p.tags t where p.id in :productIds")
+    List<ProductAssociationView> findTagNamesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    Optional<ProductStockView> findStockViewById(Long id);
+
+    List<ProductStockView> findStockViewsByIdIn(Collection<Long> ids);
+
+    Optional<ProductVersionView> findVersionById(Long id);
+
+    Optional<ProductVersionView> findVersionBySku(String sku);
+
+    // Resta stock en una sola sentencia y solo si hay suficiente; devuelve 0 si no se actualizó
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity, p.updatedAt = local datetime "
+            + "where p.id = :id and p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Suma stock en una sola sentencia; devuelve 0 si el producto no existe
+    @Modifying
+    @Query("update Product p set p.stock = p.stock + :quantity, p.updatedAt = local datetime where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Bloquea las filas en orden de id para que dos reservas concurrentes no se bloqueen mutuamente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdInOrderByIdForUpdate(@Param("ids") Collection<Long> ids);
+
 }
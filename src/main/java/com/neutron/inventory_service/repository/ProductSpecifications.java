@@ -0,0 +1,71 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filtros combinables para la búsqueda de productos.
+ * <p>
+ * Las categorías y etiquetas se filtran con subconsultas EXISTS en lugar de joins, para que un
+ * producto con varias coincidencias aparezca una sola vez y el count de la página no necesite
+ * DISTINCT. Las comparaciones sin distinguir mayúsculas usan upper(), igual que los métodos
+ * IgnoreCase derivados del repositorio.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> hasAnyCategory(Collection<String> names) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Product> product = subquery.correlate(root);
+            Join<Product, Category> category = product.join("categories");
+            subquery.select(cb.literal(1L)).where(cb.upper(category.get("name")).in(upper(names)));
+            return cb.exists(subquery);
+        };
+    }
+
+    public static Specification<Product> hasAnyTag(Collection<String> names) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Product> product = subquery.correlate(root);
+            Join<Product, Tag> tag = product.join("tags");
+            subquery.select(cb.literal(1L)).where(cb.upper(tag.get("name")).in(upper(names)));
+            return cb.exists(subquery);
+        };
+    }
+
+    public static Specification<Product> hasAnyBrand(Collection<String> brands) {
+        return (root, query, cb) -> cb.upper(root.get("brand")).in(upper(brands));
+    }
+
+    public static Specification<Product> priceGreaterThanEqual(int price) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), price);
+    }
+
+    public static Specification<Product> priceLessThanEqual(int price) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), price);
+    }
+
+    public static Specification<Product> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(cb.upper(root.get("status")), status.toUpperCase(Locale.ROOT));
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stock"), 0);
+    }
+
+    private static List<String> upper(Collection<String> values) {
+        return values.stream().map(value -> value.toUpperCase(Locale.ROOT)).toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.ProductTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    // Borrados posteriores a (deletedAt, productId) y no posteriores a until, en orden (keyset, sin OFFSET)
+    @Query("select t from ProductTombstone t "
+            + "where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.productId > :productId)) "
+            + "and t.deletedAt <= :until order by t.deletedAt, t.productId")
+    List<ProductTombstone> findChangesAfter(@Param("deletedAt") LocalDateTime deletedAt, @Param("productId") Long productId,
+                                            @Param("until") LocalDateTime until, Limit limit);
+
+    // Tombstones de los productos indicados, copiando el SKU de la fila antes de borrarla
+    @Modifying
+    @Transactional
+    @Query(value = "insert into product_tombstones (product_id, sku, deleted_at) "
+            + "select id, sku, :deletedAt from products where id in (:ids)", nativeQuery = true)
+    int insertForProducts(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "insert into product_tombstones (product_id, sku, deleted_at) "
+            + "select id, sku, :deletedAt from products", nativeQuery = true)
+    int insertForAllProducts(@Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProductTombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,255 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import com.neutron.inventory_service.repository.projection.ProductExportView;
+import io.r2dbc.spi.Readable;
+import lombok.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de solo lectura del catálogo sobre R2DBC, equivalentes a las de ProductRepository.
+ * <p>
+ * Devuelve las columnas escalares del producto (ProductExportView) y, aparte, los nombres de
+ * categorías y etiquetas de un bloque de ids, igual que la exportación NDJSON. Cada consulta toma
+ * una conexión del pool de R2DBC y la suelta al terminar; las escrituras siguen en JPA.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "p.id, p.name, p.description, p.sku, p.stock, p.brand, p.price, "
+            + "p.weight, p.dimensions, p.status, p.image_path, p.updated_at";
+
+    private static final String IN_CATEGORIES = "exists (select 1 from product_category pc "
+            + "join categories c on c.id = pc.category_id "
+            + "where pc.product_id = p.id and upper(c.name) in (:categories))";
+
+    // Propiedades por las que se puede ordenar y su columna
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "p.id", "name", "p.name", "price", "p.price");
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveProductRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProductExportView> findById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProductRow)
+                .one();
+    }
+
+    public Mono<ProductExportView> findBySku(String sku) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.sku = :sku")
+                .bind("sku", sku)
+                .map(ReactiveProductRepository::toProductRow)
+                .one();
+    }
+
+    public Flux<ProductExportView> findAllById(Collection<Long> ids) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.id in (:ids) order by p.id")
+                .bind("ids", ids)
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Flux<ProductExportView> findByBrandsIgnoreCase(Collection<String> brands, Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where upper(p.brand) in (:brands)"
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("brands", upperCase(brands))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countByBrandsIgnoreCase(Collection<String> brands) {
+        return databaseClient.sql("select count(*) from products p where upper(p.brand) in (:brands)")
+                .bind("brands", upperCase(brands))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<ProductExportView> findByCategoryNamesIgnoreCase(Collection<String> categories, Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where " + IN_CATEGORIES
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("categories", upperCase(categories))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countByCategoryNamesIgnoreCase(Collection<String> categories) {
+        return databaseClient.sql("select count(*) from products p where " + IN_CATEGORIES)
+                .bind("categories", upperCase(categories))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<ProductExportView> findByPriceBetween(int low, int high, Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.price between :low and :high"
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("low", low)
+                .bind("high", high)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countByPriceBetween(int low, int high) {
+        return databaseClient.sql("select count(*) from products p where p.price between :low and :high")
+                .bind("low", low)
+                .bind("high", high)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<ProductExportView> findByPriceGreaterThanEqual(int price, Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.price >= :price"
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("price", price)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countByPriceGreaterThanEqual(int price) {
+        return databaseClient.sql("select count(*) from products p where p.price >= :price")
+                .bind("price", price)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<ProductExportView> findByPriceLessThanEqual(int price, Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.price <= :price"
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("price", price)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> countByPriceLessThanEqual(int price) {
+        return databaseClient.sql("select count(*) from products p where p.price <= :price")
+                .bind("price", price)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<ProductExportView> findAll(Pageable pageable) {
+        return databaseClient.sql("select " + COLUMNS + " from products p"
+                        + orderBy(pageable.getSort()) + " limit :limit offset :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from products")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    // Siguiente bloque del catálogo por id, para recorrerlo entero sin OFFSET
+    public Flux<ProductExportView> findByIdGreaterThanOrderByIdAsc(Long id, int limit) {
+        return databaseClient.sql("select " + COLUMNS + " from products p where p.id > :id order by p.id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProductRow)
+                .all();
+    }
+
+    public Flux<ProductAssociationView> findCategoryNamesByProductIds(Collection<Long> ids) {
+        return databaseClient.sql("select pc.product_id, c.name from product_category pc "
+                        + "join categories c on c.id = pc.category_id where pc.product_id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveProductRepository::toAssociationRow)
+                .all();
+    }
+
+    public Flux<ProductAssociationView> findTagNamesByProductIds(Collection<Long> ids) {
+        return databaseClient.sql("select pt.product_id, t.name from product_tags pt "
+                        + "join tags t on t.id = pt.tag_id where pt.product_id in (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveProductRepository::toAssociationRow)
+                .all();
+    }
+
+    // Solo se admiten las columnas de SORT_COLUMNS; el SQL nunca incluye texto recibido del cliente
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("No se puede ordenar por " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " asc" : " desc");
+                })
+                .collect(Collectors.joining(", ", " order by ", ""));
+    }
+
+    private static List<String> upperCase(Collection<String> values) {
+        return values.stream().map(String::toUpperCase).toList();
+    }
+
+    private static ProductExportView toProductRow(Readable row) {
+        return new ProductRow(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("sku", String.class),
+                row.get("stock", Integer.class),
+                row.get("brand", String.class),
+                row.get("price", Integer.class),
+                row.get("weight", Double.class),
+                row.get("dimensions", String.class),
+                row.get("status", String.class),
+                row.get("image_path", String.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+
+    private static ProductAssociationView toAssociationRow(Readable row) {
+        return new AssociationRow(row.get("product_id", Long.class), row.get("name", String.class));
+    }
+
+    @Value
+    private static class ProductRow implements ProductExportView {
+        Long id;
+        String name;
+        String description;
+        String sku;
+        int stock;
+        String brand;
+        Integer price;
+        double weight;
+        String dimensions;
+        String status;
+        String imagePath;
+        LocalDateTime updatedAt;
+    }
+
+    @Value
+    private static class AssociationRow implements ProductAssociationView {
+        Long productId;
+        String name;
+    }
+}
@@ -3,9 +3,12 @@ package com.neutron.inventory_service.repository;
 import com.neutron.inventory_service.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByNameIgnoreCase(String name);
     Optional<Tag> findByName(String name);
+    List<Tag> findByNameInIgnoreCase(Collection<String> names);
 }
@@ -0,0 +1,7 @@
+package com.neutron.inventory_service.repository.projection;
+
+// Par (id de producto, nombre) usado para cargar categorías y etiquetas en bloque
+public interface ProductAssociationView {
+    Long getProductId();
+    String getName();
+}
@@ -0,0 +1,8 @@
+package com.neutron.inventory_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Columnas escalares de un producto más su fecha de alta, para distinguir altas de modificaciones en el feed de cambios
+public interface ProductChangeView extends ProductExportView {
+    LocalDateTime getCreatedAt();
+}
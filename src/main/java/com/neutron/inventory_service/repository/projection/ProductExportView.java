@@ -0,0 +1,19 @@
+package com.neutron.inventory_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Proyección con las columnas escalares de un producto (sin categorías ni etiquetas)
+public interface ProductExportView {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getSku();
+    int getStock();
+    String getBrand();
+    Integer getPrice();
+    double getWeight();
+    String getDimensions();
+    String getStatus();
+    String getImagePath();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,9 @@
+package com.neutron.inventory_service.repository.projection;
+
+// Datos mínimos de un producto para las operaciones de stock
+public interface ProductStockView {
+    Long getId();
+    String getName();
+    String getSku();
+    int getStock();
+}
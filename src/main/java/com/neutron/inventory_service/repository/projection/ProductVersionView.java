@@ -0,0 +1,9 @@
+package com.neutron.inventory_service.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Id y última modificación de un producto: basta para responder 304 sin cargar el producto
+public interface ProductVersionView {
+    Long getId();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,658 @@
+package com.neutron.inventory_service.search;
+
+import com.neutron.inventory_service.cache.TransactionCallbacks;
+import com.neutron.inventory_service.dto.ProductDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria para la búsqueda de texto: nombre, marca, descripción, categorías y
+ * etiquetas de cada producto.
+ * <p>
+ * Cada término del diccionario tiene su lista de productos (ids ordenados en un int[] y, en paralelo,
+ * los campos en los que aparece como máscara de bits). Los ids de producto son secuenciales, así que
+ * se usan directamente como índice de los arreglos. Una búsqueda devuelve los productos que contienen
+ * todos los términos de la consulta: empieza por la lista más corta y la cruza con las demás, mezclando
+ * las de tamaño parecido y saltando por las mucho más largas.
+ * <p>
+ * Tolerancia a errores: cada término de la consulta admite también los del diccionario a distancia
+ * de edición 1 (4 a 7 letras) o 2 (8 o más), localizados por trigramas, si no encuentra nada de otra
+ * forma; el último término admite además cualquier término que empiece por él (búsqueda mientras se
+ * escribe).
+ * <p>
+ * Puntuación: suma por término de la consulta del idf del término encontrado por el peso del campo
+ * (nombre 3, marca 2, categoría o etiqueta 1.5, descripción 1) y por cuánto se parece (exacto 1,
+ * prefijo 0.8, distancia 1 0.7, distancia 2 0.5).
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME = 1;
+    private static final int BRAND = 1 << 1;
+    private static final int CATEGORY = 1 << 2;
+    private static final int TAG = 1 << 3;
+    private static final int DESCRIPTION = 1 << 4;
+    private static final float[] FIELD_WEIGHTS = new float[1 << 5];
+
+    static {
+        for (int mask = 0; mask < FIELD_WEIGHTS.length; mask++) {
+            FIELD_WEIGHTS[mask] = (mask & NAME) != 0 ? 3f
+                    : (mask & BRAND) != 0 ? 2f
+                    : (mask & (CATEGORY | TAG)) != 0 ? 1.5f
+                    : 1f;
+        }
+    }
+
+    private static final float PREFIX = 0.8f;
+    private static final float[] FUZZY = {1f, 0.7f, 0.5f};
+    private static final int MAX_EXPANSIONS = 20;
+    private static final int MAX_PREFIX_CANDIDATES = 200;
+    private static final int INITIAL_CAPACITY = 1024;
+    // A partir de cuántas veces más productos que candidatos compensa saltar por las listas en vez de mezclarlas
+    private static final int SKIP_RATIO = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Diccionario: término -> id; por id, el término y su lista de productos
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final NavigableSet<String> sortedTerms = new TreeSet<>();
+    private final Map<String, IntList> termsByTrigram = new HashMap<>();
+    private String[] terms = new String[INITIAL_CAPACITY];
+    private int[][] postingDocs = new int[INITIAL_CAPACITY][];
+    private byte[][] postingFields = new byte[INITIAL_CAPACITY][];
+    private int[] postingSizes = new int[INITIAL_CAPACITY];
+    private int termCount;
+
+    // Ids de término de cada producto indexado (null si no está), para poder quitarlo o reindexarlo
+    private int[][] productTerms = new int[INITIAL_CAPACITY][];
+    private int productCount;
+
+    // Solo durante la carga inicial (null fuera de ella): productos quitados desde que empezó, que putIfAbsent no
+    // debe devolver al índice aunque la carga los leyera antes del borrado; con clear se descarta todo lo leído
+    private Set<Long> removedDuringLoad;
+    private boolean clearedDuringLoad;
+
+    // Ids de producto de la página pedida, por relevancia, y total de productos encontrados
+    public record Hits(List<Long> productIds, int total) {
+        static final Hits EMPTY = new Hits(List.of(), 0);
+    }
+
+    private record Expansion(int termId, float weight) {
+    }
+
+    public void put(ProductDTO product) {
+        int doc = doc(product.getId());
+        Map<String, Integer> fields = fields(product);
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(doc);
+            addUnderLock(doc, fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Para la carga inicial: no pisa un producto que ya se indexó al crearlo o modificarlo mientras tanto,
+    // ni vuelve a añadir uno borrado desde que empezó la carga
+    public void putIfAbsent(ProductDTO product) {
+        int doc = doc(product.getId());
+        Map<String, Integer> fields = fields(product);
+        lock.writeLock().lock();
+        try {
+            boolean removed = clearedDuringLoad || removedDuringLoad != null && removedDuringLoad.contains(product.getId());
+            if (!removed && (doc >= productTerms.length || productTerms[doc] == null)) {
+                addUnderLock(doc, fields);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAfterCommit(ProductDTO product) {
+        TransactionCallbacks.afterCommit(() -> put(product));
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            if (removedDuringLoad != null) {
+                removedDuringLoad.add(productId);
+            }
+            removeUnderLock(doc(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAfterCommit(long productId) {
+        TransactionCallbacks.afterCommit(() -> remove(productId));
+    }
+
+    // Vacía los productos; el diccionario se conserva (términos sin productos no aparecen en los resultados)
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(postingSizes, 0, termCount, 0);
+            productTerms = new int[INITIAL_CAPACITY][];
+            productCount = 0;
+            clearedDuringLoad = removedDuringLoad != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marca el inicio de la carga inicial: desde aquí se recuerdan los productos quitados hasta finishLoad
+    public void startLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+            clearedDuringLoad = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = null;
+            clearedDuringLoad = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return productCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = TextAnalyzer.terms(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Hits.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            List<Expansion[]> expansions = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                Expansion[] termExpansions = expand(queryTerms.get(i), i == queryTerms.size() - 1);
+                if (termExpansions.length == 0) {
+                    return Hits.EMPTY;
+                }
+                expansions.add(termExpansions);
+            }
+            // Empezar por el término con menos productos: fija el máximo de candidatos
+            expansions.sort(Comparator.comparingLong(this::matchCount));
+
+            Candidates candidates = union(expansions.get(0));
+            for (int i = 1; i < expansions.size() && candidates.size > 0; i++) {
+                Expansion[] next = expansions.get(i);
+                if (matchCount(next) > SKIP_RATIO * candidates.size) {
+                    candidates.retain(next);
+                } else if (next.length == 1) {
+                    candidates.retain(next[0]);
+                } else {
+                    candidates.retain(union(next));
+                }
+            }
+            return candidates.top(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int doc(Long productId) {
+        if (productId == null || productId <= 0 || productId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id de producto fuera de rango para el índice de búsqueda: " + productId);
+        }
+        return productId.intValue();
+    }
+
+    // Término -> campos en los que aparece
+    private static Map<String, Integer> fields(ProductDTO product) {
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        addField(fields, product.getName(), NAME);
+        addField(fields, product.getBrand(), BRAND);
+        addField(fields, product.getDescription(), DESCRIPTION);
+        addFields(fields, product.getCategoryNames(), CATEGORY);
+        addFields(fields, product.getTagNames(), TAG);
+        return fields;
+    }
+
+    private static void addFields(Map<String, Integer> fields, Collection<String> texts, int field) {
+        if (texts != null) {
+            texts.forEach(text -> addField(fields, text, field));
+        }
+    }
+
+    private static void addField(Map<String, Integer> fields, String text, int field) {
+        for (String term : TextAnalyzer.terms(text)) {
+            fields.merge(term, field, (a, b) -> a | b);
+        }
+    }
+
+    private void addUnderLock(int doc, Map<String, Integer> fields) {
+        int[] ids = new int[fields.size()];
+        int k = 0;
+        for (Map.Entry<String, Integer> field : fields.entrySet()) {
+            int termId = termId(field.getKey());
+            insertPosting(termId, doc, field.getValue().byteValue());
+            ids[k++] = termId;
+        }
+        if (doc >= productTerms.length) {
+            productTerms = Arrays.copyOf(productTerms, Math.max(doc + 1, productTerms.length * 2));
+        }
+        productTerms[doc] = ids;
+        productCount++;
+    }
+
+    private void removeUnderLock(int doc) {
+        if (doc >= productTerms.length || productTerms[doc] == null) {
+            return;
+        }
+        for (int termId : productTerms[doc]) {
+            removePosting(termId, doc);
+        }
+        productTerms[doc] = null;
+        productCount--;
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        if (termCount == terms.length) {
+            int capacity = terms.length * 2;
+            terms = Arrays.copyOf(terms, capacity);
+            postingDocs = Arrays.copyOf(postingDocs, capacity);
+            postingFields = Arrays.copyOf(postingFields, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        int termId = termCount++;
+        terms[termId] = term;
+        postingDocs[termId] = new int[2];
+        postingFields[termId] = new byte[2];
+        termIds.put(term, termId);
+        sortedTerms.add(term);
+        for (String gram : TextAnalyzer.trigrams(term)) {
+            termsByTrigram.computeIfAbsent(gram, g -> new IntList()).add(termId);
+        }
+        return termId;
+    }
+
+    // Los productos nuevos tienen el id más alto, así que casi siempre se añade al final
+    private void insertPosting(int termId, int doc, byte field) {
+        int size = postingSizes[termId];
+        int[] docs = postingDocs[termId];
+        int position = size == 0 || docs[size - 1] < doc ? -(size + 1) : Arrays.binarySearch(docs, 0, size, doc);
+        if (position >= 0) {
+            postingFields[termId][position] |= field;
+            return;
+        }
+        position = -(position + 1);
+        if (size == docs.length) {
+            postingDocs[termId] = docs = Arrays.copyOf(docs, size * 2);
+            postingFields[termId] = Arrays.copyOf(postingFields[termId], size * 2);
+        }
+        byte[] fields = postingFields[termId];
+        System.arraycopy(docs, position, docs, position + 1, size - position);
+        System.arraycopy(fields, position, fields, position + 1, size - position);
+        docs[position] = doc;
+        fields[position] = field;
+        postingSizes[termId] = size + 1;
+    }
+
+    private void removePosting(int termId, int doc) {
+        int size = postingSizes[termId];
+        int[] docs = postingDocs[termId];
+        int position = Arrays.binarySearch(docs, 0, size, doc);
+        if (position < 0) {
+            return;
+        }
+        byte[] fields = postingFields[termId];
+        System.arraycopy(docs, position + 1, docs, position, size - position - 1);
+        System.arraycopy(fields, position + 1, fields, position, size - position - 1);
+        postingSizes[termId] = --size;
+        if (docs.length > 16 && size < docs.length / 4) {
+            postingDocs[termId] = Arrays.copyOf(docs, docs.length / 2);
+            postingFields[termId] = Arrays.copyOf(fields, docs.length / 2);
+        }
+    }
+
+    // Términos del diccionario que cuentan como coincidencia de un término de la consulta, con su peso
+    private Expansion[] expand(String term, boolean prefix) {
+        List<Expansion> expansions = new ArrayList<>();
+        Integer exact = termIds.get(term);
+        if (exact != null && postingSizes[exact] > 0) {
+            expansions.add(new Expansion(exact, idf(exact)));
+        }
+        if (prefix && term.length() >= 2) {
+            expansions.addAll(prefixExpansions(term));
+        }
+        // Sin el término ni palabras que empiecen por él, probablemente tiene una errata
+        if (expansions.isEmpty()) {
+            expansions.addAll(fuzzyExpansions(term));
+        }
+        return expansions.toArray(Expansion[]::new);
+    }
+
+    // Los MAX_EXPANSIONS términos más frecuentes que empiezan por el de la consulta
+    private List<Expansion> prefixExpansions(String term) {
+        List<Integer> matches = new ArrayList<>();
+        for (String candidate : sortedTerms.subSet(term, false, term + Character.MAX_VALUE, false)) {
+            int termId = termIds.get(candidate);
+            if (postingSizes[termId] > 0) {
+                matches.add(termId);
+                if (matches.size() == MAX_PREFIX_CANDIDATES) {
+                    break;
+                }
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt((Integer termId) -> postingSizes[termId]).reversed())
+                .limit(MAX_EXPANSIONS)
+                .map(termId -> new Expansion(termId, PREFIX * idf(termId)))
+                .toList();
+    }
+
+    // Términos a distancia de edición 1 o 2 que comparten suficientes trigramas con el de la consulta
+    private List<Expansion> fuzzyExpansions(String term) {
+        int maxDistance = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        if (maxDistance == 0) {
+            return List.of();
+        }
+        List<String> grams = TextAnalyzer.trigrams(term);
+        // Cada edición cambia como mucho tres trigramas
+        int minShared = Math.max(1, grams.size() - 3 * maxDistance);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            IntList termIdsWithGram = termsByTrigram.get(gram);
+            if (termIdsWithGram != null) {
+                for (int i = 0; i < termIdsWithGram.size; i++) {
+                    shared.merge(termIdsWithGram.values[i], 1, Integer::sum);
+                }
+            }
+        }
+
+        List<int[]> matches = new ArrayList<>(); // {termId, distancia}
+        shared.forEach((termId, count) -> {
+            if (count >= minShared && postingSizes[termId] > 0) {
+                int distance = TextAnalyzer.distance(term, terms[termId], maxDistance);
+                if (distance <= maxDistance) {
+                    matches.add(new int[]{termId, distance});
+                }
+            }
+        });
+        return matches.stream()
+                .sorted(Comparator.<int[]>comparingInt(match -> match[1])
+                        .thenComparing(match -> -postingSizes[match[0]]))
+                .limit(MAX_EXPANSIONS)
+                .map(match -> new Expansion(match[0], FUZZY[match[1]] * idf(match[0])))
+                .toList();
+    }
+
+    private float idf(int termId) {
+        int df = postingSizes[termId];
+        return (float) Math.log(1 + (productCount - df + 0.5) / (df + 0.5));
+    }
+
+    private long matchCount(Expansion[] expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += postingSizes[expansion.termId()];
+        }
+        return count;
+    }
+
+    // Productos que contienen alguno de los términos, con la mejor puntuación de cada uno
+    private Candidates union(Expansion[] expansions) {
+        Expansion first = expansions[0];
+        int size = postingSizes[first.termId()];
+        int[] docs = postingDocs[first.termId()];
+        byte[] fields = postingFields[first.termId()];
+        Candidates candidates = new Candidates(size);
+        System.arraycopy(docs, 0, candidates.docs, 0, size);
+        for (int i = 0; i < size; i++) {
+            candidates.scores[i] = first.weight() * FIELD_WEIGHTS[fields[i]];
+        }
+        candidates.size = size;
+
+        for (int i = 1; i < expansions.length; i++) {
+            candidates = candidates.merge(expansions[i]);
+        }
+        return candidates;
+    }
+
+    // Primera posición desde from con un producto >= doc: unos pasos lineales (listas de tamaño parecido) y,
+    // si no basta, saltos exponenciales y búsqueda binaria en el último
+    private static int advance(int[] docs, int from, int size, int doc) {
+        int linearEnd = Math.min(size, from + 8);
+        while (from < linearEnd) {
+            if (docs[from] >= doc) {
+                return from;
+            }
+            from++;
+        }
+        if (from >= size || docs[from] >= doc) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < size && docs[high] < doc) {
+            low = high;
+            step <<= 1;
+            high = low + step;
+        }
+        int position = Arrays.binarySearch(docs, low + 1, Math.min(high, size), doc);
+        return position >= 0 ? position : -(position + 1);
+    }
+
+    private final class Candidates {
+
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        // Mezcla ordenada con la lista de un término; un producto en las dos se queda con la mejor puntuación
+        Candidates merge(Expansion expansion) {
+            int[] otherDocs = postingDocs[expansion.termId()];
+            byte[] otherFields = postingFields[expansion.termId()];
+            int otherSize = postingSizes[expansion.termId()];
+            Candidates merged = new Candidates(size + otherSize);
+            int i = 0;
+            int j = 0;
+            while (i < size || j < otherSize) {
+                int n = merged.size++;
+                if (j == otherSize || (i < size && docs[i] < otherDocs[j])) {
+                    merged.docs[n] = docs[i];
+                    merged.scores[n] = scores[i++];
+                } else {
+                    float score = expansion.weight() * FIELD_WEIGHTS[otherFields[j]];
+                    if (i < size && docs[i] == otherDocs[j]) {
+                        score = Math.max(score, scores[i++]);
+                    }
+                    merged.docs[n] = otherDocs[j++];
+                    merged.scores[n] = score;
+                }
+            }
+            return merged;
+        }
+
+        // Intersección con otra lista de tamaño parecido, sumando las puntuaciones. Sin saltos condicionales
+        // en el bucle: con listas parecidas, si avanza una u otra es impredecible para el procesador.
+        // Se escribe en kept en cada paso; sin coincidencia se escribe scores[i], porque si no se ha
+        // descartado ningún candidato kept == i y el siguiente paso vuelve a leer esa posición
+        void retain(Candidates other) {
+            int i = 0;
+            int j = 0;
+            int kept = 0;
+            while (i < size && j < other.size) {
+                int doc = docs[i];
+                int otherDoc = other.docs[j];
+                float score = scores[i];
+                docs[kept] = doc;
+                scores[kept] = doc == otherDoc ? score + other.scores[j] : score;
+                kept += doc == otherDoc ? 1 : 0;
+                i += doc <= otherDoc ? 1 : 0;
+                j += doc >= otherDoc ? 1 : 0;
+            }
+            size = kept;
+        }
+
+        // Lo mismo con la lista de un único término, sin copiarla antes
+        void retain(Expansion expansion) {
+            int[] otherDocs = postingDocs[expansion.termId()];
+            byte[] otherFields = postingFields[expansion.termId()];
+            int otherSize = postingSizes[expansion.termId()];
+            float weight = expansion.weight();
+            int i = 0;
+            int j = 0;
+            int kept = 0;
+            while (i < size && j < otherSize) {
+                int doc = docs[i];
+                int otherDoc = otherDocs[j];
+                float score = scores[i];
+                docs[kept] = doc;
+                scores[kept] = doc == otherDoc ? score + weight * FIELD_WEIGHTS[otherFields[j]] : score;
+                kept += doc == otherDoc ? 1 : 0;
+                i += doc <= otherDoc ? 1 : 0;
+                j += doc >= otherDoc ? 1 : 0;
+            }
+            size = kept;
+        }
+
+        // Intersección con listas mucho más largas que los candidatos: se salta por ellas en lugar de
+        // recorrerlas. Candidatos y listas van ordenados por producto, así que cada lista se visita una vez
+        void retain(Expansion[] expansions) {
+            int[] positions = new int[expansions.length];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                float best = 0;
+                for (int e = 0; e < expansions.length; e++) {
+                    int termId = expansions[e].termId();
+                    int position = advance(postingDocs[termId], positions[e], postingSizes[termId], docs[i]);
+                    positions[e] = position;
+                    if (position < postingSizes[termId] && postingDocs[termId][position] == docs[i]) {
+                        best = Math.max(best, expansions[e].weight() * FIELD_WEIGHTS[postingFields[termId][position]]);
+                    }
+                }
+                if (best > 0) {
+                    docs[kept] = docs[i];
+                    scores[kept] = scores[i] + best;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        // Los offset + limit mejores con un montículo de ese tamaño, sin ordenar todos los candidatos
+        Hits top(int offset, int limit) {
+            int k = (int) Math.min(size, (long) offset + limit);
+            if (offset >= k) {
+                return new Hits(List.of(), size);
+            }
+            int[] heap = new int[k]; // Índices de candidatos; en la raíz, el peor de los que se quedan
+            int heapSize = 0;
+            for (int i = 0; i < k; i++) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++);
+            }
+            // Los candidatos van por id creciente: en caso de empate gana el que ya está en el montículo,
+            // así que basta con comparar la puntuación con la del peor
+            float threshold = scores[heap[0]];
+            for (int i = k; i < size; i++) {
+                if (scores[i] > threshold) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                    threshold = scores[heap[0]];
+                }
+            }
+            Long[] ranked = new Long[k];
+            while (heapSize > 0) {
+                ranked[--heapSize] = (long) docs[heap[0]];
+                heap[0] = heap[heapSize];
+                siftDown(heap, heapSize);
+            }
+            return new Hits(List.of(ranked).subList(offset, k), size);
+        }
+
+        private boolean better(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && docs[a] < docs[b]);
+        }
+
+        private void siftUp(int[] heap, int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!better(heap[parent], heap[index])) {
+                    break;
+                }
+                swap(heap, parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int heapSize) {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && better(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < heapSize && better(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(heap, index, worst);
+                index = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+
+    private static final class IntList {
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.neutron.inventory_service.search;
+
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.dto.ProductChangesDTO;
+import com.neutron.inventory_service.error.ChangeTokenExpiredException;
+import com.neutron.inventory_service.service.ProductChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Carga el catálogo en el índice de búsqueda al arrancar y lo mantiene al día con el feed de cambios
+ * (ProductChangeService), el mismo para todas las instancias.
+ * <p>
+ * La carga recorre el feed desde el principio en segundo plano. Mientras tanto la búsqueda responde
+ * con los productos ya cargados; los cambios de esta instancia se indexan en cuanto se confirman y la
+ * carga no los sobrescribe, ni vuelve a añadir los productos borrados mientras tanto. Después, cada
+ * {@code inventory.search.sync-interval} se piden los cambios posteriores al último token, así que
+ * las altas, modificaciones y borrados hechos por otras instancias llegan con el retraso del feed
+ * ({@code inventory.changes.settle-delay}) más ese intervalo. Si el token caduca (la instancia
+ * estuvo parada más que la retención de borrados) el índice se vacía y se vuelve a cargar.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndexLoader {
+
+    private final ProductChangeService productChangeService;
+    private final ProductSearchIndex productSearchIndex;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int syncBatchSize;
+
+    // Token del último cambio aplicado; null hasta que termina la carga (mientras tanto no se sincroniza)
+    private volatile String token;
+    private volatile boolean loaded;
+
+    public ProductSearchIndexLoader(ProductChangeService productChangeService, ProductSearchIndex productSearchIndex,
+                                    @Qualifier("applicationTaskExecutor") Executor executor,
+                                    @Value("${inventory.search.load-on-startup:true}") boolean enabled,
+                                    @Value("${inventory.search.sync-batch-size:500}") int syncBatchSize) {
+        this.productChangeService = productChangeService;
+        this.productSearchIndex = productSearchIndex;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.syncBatchSize = syncBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        loaded = false;
+        token = null;
+        productSearchIndex.startLoad();
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            String[] last = {null};
+            try {
+                productChangeService.streamChanges(null, chunk -> {
+                    for (ProductChangeDTO change : chunk) {
+                        if (change.getType() == ProductChangeDTO.Type.DELETED) {
+                            productSearchIndex.remove(change.getProductId());
+                        } else {
+                            productSearchIndex.putIfAbsent(change.getProduct());
+                        }
+                    }
+                    last[0] = chunk.get(chunk.size() - 1).getToken();
+                });
+                token = last[0];
+                loaded = true;
+                log.info("Índice de búsqueda cargado: {} productos en {} ms",
+                        productSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("No se pudo cargar el índice de búsqueda", e);
+            } finally {
+                productSearchIndex.finishLoad();
+            }
+        });
+    }
+
+    // Aplica los cambios de todas las instancias posteriores al último token, página a página
+    @Scheduled(fixedDelayString = "${inventory.search.sync-interval:PT5S}")
+    public void sync() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            ProductChangesDTO page;
+            do {
+                page = productChangeService.getChanges(token, syncBatchSize);
+                apply(page.getChanges());
+                token = page.getNextToken();
+            } while (page.isHasMore());
+        } catch (ChangeTokenExpiredException e) {
+            log.warn("El token del índice de búsqueda ha caducado; se vuelve a cargar el catálogo");
+            productSearchIndex.clear();
+            load();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron aplicar los cambios al índice de búsqueda: {}", e.getMessage());
+        }
+    }
+
+    private void apply(List<ProductChangeDTO> changes) {
+        for (ProductChangeDTO change : changes) {
+            if (change.getType() == ProductChangeDTO.Type.DELETED) {
+                productSearchIndex.remove(change.getProductId());
+            } else {
+                productSearchIndex.put(change.getProduct());
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.dto.ProductChangesDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ProductChangeService {
+    ProductChangesDTO getChanges(String since, int limit);
+    void checkToken(String since);
+    void streamChanges(String since, Consumer<List<ProductChangeDTO>> chunkConsumer);
+}
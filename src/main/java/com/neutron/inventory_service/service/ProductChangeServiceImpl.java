@@ -0,0 +1,210 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.dto.ProductChangesDTO;
+import com.neutron.inventory_service.error.ChangeTokenExpiredException;
+import com.neutron.inventory_service.mapper.ProductMapper;
+import com.neutron.inventory_service.model.ProductTombstone;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.repository.ProductTombstoneRepository;
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import com.neutron.inventory_service.repository.projection.ProductChangeView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Feed de cambios del catálogo: altas y modificaciones (por updatedAt) y borrados (tombstones), en
+ * orden de (fecha, id) y a partir de un token opaco.
+ * <p>
+ * Solo se entregan los cambios con más de {@code inventory.changes.settle-delay} de antigüedad: una
+ * transacción puede fijar updatedAt y confirmar después de que otra posterior ya se haya leído, y sin
+ * ese margen el consumidor avanzaría su token por delante del cambio y no lo vería nunca. Los
+ * tombstones se purgan pasada {@code inventory.changes.tombstone-retention}; un token más antiguo se
+ * rechaza, porque podría saltarse borrados.
+ */
+@Slf4j
+@Service
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
+    private final ProductMapper productMapper;
+    private final Duration settleDelay;
+    private final Duration tombstoneRetention;
+    private final int chunkSize;
+
+    public ProductChangeServiceImpl(ProductRepository productRepository, ProductTombstoneRepository productTombstoneRepository,
+                                    ProductMapper productMapper,
+                                    @Value("${inventory.changes.settle-delay:PT5S}") Duration settleDelay,
+                                    @Value("${inventory.changes.tombstone-retention:P30D}") Duration tombstoneRetention,
+                                    @Value("${inventory.changes.chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
+        this.productMapper = productMapper;
+        this.settleDelay = settleDelay;
+        this.tombstoneRetention = tombstoneRetention;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ProductChangesDTO getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        ProductChangeToken from = decode(since);
+
+        // Uno más de los pedidos para saber si hay más sin otra consulta
+        LocalDateTime until = settledUntil();
+        List<ProductChangeDTO> changes = readChanges(from, from, until, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        return ProductChangesDTO.builder()
+                .changes(changes)
+                .hasMore(hasMore)
+                .nextToken(changes.isEmpty() ? scannedUntil(from, until).encode() : changes.get(changes.size() - 1).getToken())
+                .build();
+    }
+
+    @Override
+    public void checkToken(String since) {
+        decode(since);
+    }
+
+    @Override
+    public void streamChanges(String since, Consumer<List<ProductChangeDTO>> chunkConsumer) {
+        // Por bloques hasta alcanzar el límite fijado al empezar, con memoria constante
+        ProductChangeToken origin = decode(since);
+        LocalDateTime until = settledUntil();
+        ProductChangeToken from = origin;
+        List<ProductChangeDTO> chunk;
+        do {
+            chunk = readChanges(origin, from, until, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunkConsumer.accept(chunk);
+            ProductChangeDTO last = chunk.get(chunk.size() - 1);
+            from = new ProductChangeToken(last.getChangedAt(), last.getProductId());
+        } while (chunk.size() == chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.changes.purge-interval:PT1H}")
+    public void purgeTombstones() {
+        int purged = productTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purgados {} tombstones de productos anteriores a {}", purged, tombstoneRetention);
+        }
+    }
+
+    private ProductChangeToken decode(String since) {
+        ProductChangeToken token = ProductChangeToken.decode(since);
+        if (!token.equals(ProductChangeToken.START)
+                && token.changedAt().isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            throw new ChangeTokenExpiredException("El token es anterior a la retención de borrados ("
+                    + tombstoneRetention + "); vuelva a cargar el catálogo completo");
+        }
+        return token;
+    }
+
+    // En microsegundos, la precisión de las columnas: el límite es exactamente el de la consulta
+    private LocalDateTime settledUntil() {
+        return LocalDateTime.now().minus(settleDelay).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Sin cambios nuevos ya se ha recorrido todo hasta until: el token avanza hasta ahí para que un
+    // catálogo sin movimiento no deje caducar el token del consumidor
+    private static ProductChangeToken scannedUntil(ProductChangeToken from, LocalDateTime until) {
+        ProductChangeToken scanned = new ProductChangeToken(until, Long.MAX_VALUE);
+        return from.isBefore(scanned) ? scanned : from;
+    }
+
+    // Los primeros limit cambios posteriores a from: mezcla de las dos consultas por keyset, ambas ordenadas.
+    // origin es el token de la petición, para distinguir altas de modificaciones
+    private List<ProductChangeDTO> readChanges(ProductChangeToken origin, ProductChangeToken from, LocalDateTime until, int limit) {
+        List<ProductChangeView> products = productRepository.findChangesAfter(
+                from.changedAt(), from.id(), until, Limit.of(limit));
+        List<ProductTombstone> tombstones = productTombstoneRepository.findChangesAfter(
+                from.changedAt(), from.id(), until, Limit.of(limit));
+
+        List<Object> merged = new ArrayList<>(limit);
+        int p = 0;
+        int t = 0;
+        while (merged.size() < limit && (p < products.size() || t < tombstones.size())) {
+            if (t == tombstones.size() || (p < products.size() && tokenOf(products.get(p)).isBefore(tokenOf(tombstones.get(t))))) {
+                merged.add(products.get(p++));
+            } else {
+                merged.add(tombstones.get(t++));
+            }
+        }
+
+        // Categorías y etiquetas de los productos de la página con una consulta cada una
+        List<Long> ids = merged.stream()
+                .filter(ProductChangeView.class::isInstance)
+                .map(change -> ((ProductChangeView) change).getId())
+                .toList();
+        Map<Long, Set<String>> categoryNames = ids.isEmpty() ? Map.of()
+                : groupNamesByProductId(productRepository.findCategoryNamesByProductIds(ids));
+        Map<Long, Set<String>> tagNames = ids.isEmpty() ? Map.of()
+                : groupNamesByProductId(productRepository.findTagNamesByProductIds(ids));
+
+        return merged.stream()
+                .map(change -> change instanceof ProductChangeView view
+                        ? productChange(view, origin, categoryNames, tagNames)
+                        : deletion((ProductTombstone) change))
+                .collect(Collectors.toList());
+    }
+
+    private ProductChangeDTO productChange(ProductChangeView view, ProductChangeToken origin,
+                                           Map<Long, Set<String>> categoryNames, Map<Long, Set<String>> tagNames) {
+        boolean created = origin.equals(ProductChangeToken.START)
+                || (view.getCreatedAt() != null && view.getCreatedAt().isAfter(origin.changedAt()));
+        return ProductChangeDTO.builder()
+                .type(created ? ProductChangeDTO.Type.CREATED : ProductChangeDTO.Type.UPDATED)
+                .productId(view.getId())
+                .sku(view.getSku())
+                .changedAt(view.getUpdatedAt())
+                .product(productMapper.toDto(view,
+                        categoryNames.getOrDefault(view.getId(), Collections.emptySet()),
+                        tagNames.getOrDefault(view.getId(), Collections.emptySet())))
+                .token(tokenOf(view).encode())
+                .build();
+    }
+
+    private static ProductChangeDTO deletion(ProductTombstone tombstone) {
+        return ProductChangeDTO.builder()
+                .type(ProductChangeDTO.Type.DELETED)
+                .productId(tombstone.getProductId())
+                .sku(tombstone.getSku())
+                .changedAt(tombstone.getDeletedAt())
+                .token(tokenOf(tombstone).encode())
+                .build();
+    }
+
+    private static ProductChangeToken tokenOf(ProductChangeView view) {
+        return new ProductChangeToken(view.getUpdatedAt(), view.getId());
+    }
+
+    private static ProductChangeToken tokenOf(ProductTombstone tombstone) {
+        return new ProductChangeToken(tombstone.getDeletedAt(), tombstone.getProductId());
+    }
+
+    private static Map<Long, Set<String>> groupNamesByProductId(List<ProductAssociationView> rows) {
+        return rows.stream().collect(Collectors.groupingBy(ProductAssociationView::getProductId,
+                Collectors.mapping(ProductAssociationView::getName, Collectors.toSet())));
+    }
+}
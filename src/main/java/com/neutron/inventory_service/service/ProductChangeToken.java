@@ -0,0 +1,46 @@
+package com.neutron.inventory_service.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Token opaco del feed de cambios: Base64 (URL) de la fecha y el id del último cambio entregado.
+ * <p>
+ * Productos y tombstones se ordenan por (fecha, id), así que la siguiente petición continúa con
+ * {@code WHERE (fecha, id) > (token)} sobre el índice de cada tabla.
+ */
+record ProductChangeToken(LocalDateTime changedAt, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    // Antes de cualquier cambio: la primera petición recibe todo el catálogo
+    static final ProductChangeToken START = new ProductChangeToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    // Un token vacío es el principio del feed; IllegalArgumentException si no es válido
+    static ProductChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Token de cambios inválido");
+            }
+            return new ProductChangeToken(LocalDateTime.parse(parts[1]), Long.parseLong(parts[0]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Token de cambios inválido", e);
+        }
+    }
+
+    String encode() {
+        String raw = id + SEPARATOR + changedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isBefore(ProductChangeToken other) {
+        int byDate = changedAt.compareTo(other.changedAt);
+        return byDate < 0 || (byDate == 0 && id < other.id);
+    }
+}
@@ -0,0 +1,86 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.model.Product;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cursor opaco para la paginación por keyset de los listados de productos.
+ * <p>
+ * Codifica en Base64 (URL) el orden pedido, el valor de la clave de orden y el id del último
+ * producto devuelto. La siguiente página continúa con {@code WHERE (clave, id) > (valor, id)}
+ * sobre el índice, por lo que cuesta lo mismo en la página 1 que en la 10.000.
+ * <p>
+ * Las claves de orden (nombre y precio) son NOT NULL desde V6: un nulo no tiene posición en el
+ * keyset, así que no se codifica como texto sino que se rechaza.
+ */
+final class ProductCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private ProductCursor() {
+    }
+
+    // Mismos criterios de orden que los listados paginados, con el id como desempate
+    static Sort sort(String sortBy) {
+        return switch (sortBy) {
+            case "price-asc" -> Sort.by(Sort.Direction.ASC, "price", "id");
+            case "price-desc" -> Sort.by(Sort.Direction.DESC, "price", "id");
+            case "name-asc" -> Sort.by(Sort.Direction.ASC, "name", "id");
+            case "name-desc" -> Sort.by(Sort.Direction.DESC, "name", "id");
+            default -> Sort.by(Sort.Direction.ASC, "id"); // Sin ordenamiento: orden de inserción
+        };
+    }
+
+    // Un cursor vacío es la primera página; IllegalArgumentException si no es válido para este orden
+    static ScrollPosition decode(String cursor, String sortBy) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+        if (parts.length != 3 || !parts[0].equals(sortBy)) {
+            throw new IllegalArgumentException("Cursor inválido para el orden " + sortBy);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            switch (sortKey(sortBy)) {
+                case "price" -> keys.put("price", Integer.valueOf(parts[2]));
+                case "name" -> keys.put("name", parts[2]);
+                default -> { }
+            }
+            keys.put("id", Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static String encode(String sortBy, Product last) {
+        Object value = switch (sortKey(sortBy)) {
+            case "price" -> last.getPrice();
+            case "name" -> last.getName();
+            default -> "";
+        };
+        if (value == null) {
+            throw new IllegalStateException("El producto " + last.getId() + " no tiene valor para el orden " + sortBy);
+        }
+        String raw = sortBy + SEPARATOR + last.getId() + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sortKey(String sortBy) {
+        return sort(sortBy).iterator().next().getProperty();
+    }
+}
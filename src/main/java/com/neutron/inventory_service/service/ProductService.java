@@ -1,8 +1,13 @@
 package com.neutron.inventory_service.service;
 
+import com.neutron.inventory_service.dto.BulkImportResultDTO;
+import com.neutron.inventory_service.dto.CursorPageDTO;
 import com.neutron.inventory_service.dto.ProductCreateDTO;
 import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.dto.ProductFacetsDTO;
+import com.neutron.inventory_service.dto.ProductSearchCriteriaDTO;
 import com.neutron.inventory_service.dto.ProductUpdateDTO;
+import com.neutron.inventory_service.repository.projection.ProductVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -10,12 +15,16 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
     List<ProductDTO> getAllProductDTOs();
+    void streamAllProductDTOs(Consumer<List<ProductDTO>> chunkConsumer);
     Optional<ProductDTO> getProductDTOById(Long id);
     Optional<Map<String, Object>> getProductDTOsById(List<Long> ids);
     Optional<ProductDTO> getProductDTOBySku(String sku);
+    Optional<ProductVersionView> getProductVersionById(Long id);
+    Optional<ProductVersionView> getProductVersionBySku(String sku);
     Page<ProductDTO> getProductDTOsByCategoriesIgnoreCaseSorted(
             List<String> categories, String sortBy, int page, int size);
     Page<ProductDTO> getProductDTOsByBrandsIgnoreCaseSorted(
@@ -25,8 +34,20 @@ public interface ProductService {
     Page<ProductDTO> getProductDTOsByPriceGreaterThanEqual(int price, int page, int size, String sortBy);
     Page<ProductDTO> getProductDTOsByPriceLessThanEqual(int price, int page, int size, String sortBy);
     Page<ProductDTO> getProductDTOsByPriceBetween(int low, int high, int page, int size, String sortBy);
+    CursorPageDTO<ProductDTO> scrollProductDTOsByCategoriesIgnoreCase(
+            List<String> categories, String sortBy, String cursor, int size);
+    CursorPageDTO<ProductDTO> scrollProductDTOsByBrandsIgnoreCase(
+            List<String> brands, String sortBy, String cursor, int size);
+    CursorPageDTO<ProductDTO> scrollProductDTOsSorted(String sortBy, String cursor, int size);
+    CursorPageDTO<ProductDTO> scrollProductDTOsByPriceGreaterThanEqual(int price, String sortBy, String cursor, int size);
+    CursorPageDTO<ProductDTO> scrollProductDTOsByPriceLessThanEqual(int price, String sortBy, String cursor, int size);
+    CursorPageDTO<ProductDTO> scrollProductDTOsByPriceBetween(int low, int high, String sortBy, String cursor, int size);
+    Page<ProductDTO> searchProductDTOs(ProductSearchCriteriaDTO criteria, String sortBy, int page, int size);
+    CursorPageDTO<ProductDTO> scrollSearchProductDTOs(ProductSearchCriteriaDTO criteria, String sortBy, String cursor, int size);
+    Page<ProductDTO> searchProductDTOsByText(String query, int page, int size);
+    ProductFacetsDTO getProductFacets(ProductSearchCriteriaDTO criteria, List<Integer> priceBoundaries);
     ProductDTO createProductDTO(ProductCreateDTO productDTO, MultipartFile imageFile) throws IOException;
-    List<ProductDTO> createProductDTOs(List<ProductCreateDTO> productDTOS);
+    BulkImportResultDTO createProductDTOs(List<ProductCreateDTO> productDTOS);
     ProductDTO updateProductDTO(Long id, ProductUpdateDTO productDTO);
     void deleteProductById(Long id);
     List<Long> deleteProductsById(List<Long> ids);
@@ -1,44 +1,113 @@
 package com.neutron.inventory_service.service;
 
+import com.neutron.inventory_service.cache.CategoryNameCache;
+import com.neutron.inventory_service.cache.NameDictionaryCache;
+import com.neutron.inventory_service.cache.ProductDtoCache;
+import com.neutron.inventory_service.cache.StockLevelIndex;
+import com.neutron.inventory_service.cache.TagNameCache;
+import com.neutron.inventory_service.dto.BulkImportItemDTO;
+import com.neutron.inventory_service.dto.BulkImportResultDTO;
+import com.neutron.inventory_service.dto.PriceRangeCountDTO;
+import com.neutron.inventory_service.dto.CursorPageDTO;
 import com.neutron.inventory_service.dto.ProductCreateDTO;
 import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.dto.ProductFacetsDTO;
+import com.neutron.inventory_service.dto.ProductSearchCriteriaDTO;
 import com.neutron.inventory_service.dto.ProductUpdateDTO;
 import com.neutron.inventory_service.error.DuplicateSkuException;
 import com.neutron.inventory_service.error.ProductNotFoundException;
 import com.neutron.inventory_service.mapper.ProductMapper;
+import com.neutron.inventory_service.messaging.ProductEventOutbox;
 import com.neutron.inventory_service.model.Category;
 import com.neutron.inventory_service.model.Product;
 import com.neutron.inventory_service.model.Tag;
-import com.neutron.inventory_service.repository.CategoryRepository;
+import com.neutron.inventory_service.repository.ProductFacetRepository.Facet;
 import com.neutron.inventory_service.repository.ProductRepository;
-import com.neutron.inventory_service.repository.TagRepository;
+import com.neutron.inventory_service.repository.ProductSpecifications;
+import com.neutron.inventory_service.repository.ProductTombstoneRepository;
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import com.neutron.inventory_service.repository.projection.ProductExportView;
+import com.neutron.inventory_service.repository.projection.ProductVersionView;
+import com.neutron.inventory_service.search.ProductSearchIndex;
+import com.neutron.inventory_service.storage.ImageStorage;
+import com.neutron.inventory_service.storage.StoredImage;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductTombstoneRepository productTombstoneRepository;
     private final ProductMapper productMapper;
-    private final CategoryRepository categoryRepository;
-    private final TagRepository tagRepository;
-
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, CategoryRepository categoryRepository, TagRepository tagRepository) {
+    private final CategoryNameCache categoryNameCache;
+    private final TagNameCache tagNameCache;
+    private final ProductDtoCache productDtoCache;
+    private final StockLevelIndex stockLevelIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductEventOutbox productEventOutbox;
+    private final ImageStorage imageStorage;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int exportChunkSize;
+    private final int bulkChunkSize;
+    private final List<Integer> facetPriceBoundaries;
+    private final int facetMaxValues;
+    private final Duration imageOrphanGrace;
+
+    public ProductServiceImpl(ProductRepository productRepository, ProductTombstoneRepository productTombstoneRepository, ProductMapper productMapper, CategoryNameCache categoryNameCache, TagNameCache tagNameCache,
+                              ProductDtoCache productDtoCache, StockLevelIndex stockLevelIndex, ProductSearchIndex productSearchIndex, ProductEventOutbox productEventOutbox, ImageStorage imageStorage, Validator validator, PlatformTransactionManager transactionManager,
+                              @Value("${inventory.export.chunk-size:500}") int exportChunkSize,
+                              @Value("${inventory.bulk.chunk-size:1000}") int bulkChunkSize,
+                              @Value("${inventory.facets.price-boundaries:1000,5000,10000,50000}") List<Integer> facetPriceBoundaries,
+                              @Value("${inventory.facets.max-values:50}") int facetMaxValues,
+                              @Value("${inventory.images.orphan-grace:PT1H}") Duration imageOrphanGrace) {
         this.productRepository = productRepository;
+        this.productTombstoneRepository = productTombstoneRepository;
         this.productMapper = productMapper;
-        this.categoryRepository = categoryRepository;
-        this.tagRepository = tagRepository;
+        this.categoryNameCache = categoryNameCache;
+        this.tagNameCache = tagNameCache;
+        this.productDtoCache = productDtoCache;
+        this.stockLevelIndex = stockLevelIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.productEventOutbox = productEventOutbox;
+        this.imageStorage = imageStorage;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exportChunkSize = exportChunkSize;
+        this.bulkChunkSize = bulkChunkSize;
+        this.facetPriceBoundaries = facetPriceBoundaries;
+        this.facetMaxValues = facetMaxValues;
+        this.imageOrphanGrace = imageOrphanGrace;
     }
 
     @Override
@@ -56,15 +125,58 @@ public class ProductServiceImpl implements ProductService {
                 .collect(Collectors.toList());  // Recoger todo en una lista de ProductDTO
     }
 
+    @Override
+    public void streamAllProductDTOs(Consumer<List<ProductDTO>> chunkConsumer) {
+        // Recorrer el catálogo por bloques de tamaño fijo usando el id como cursor,
+        // de modo que la memoria usada no dependa del tamaño del catálogo
+        Long lastId = 0L;
+        List<ProductExportView> chunk;
+        do {
+            chunk = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(exportChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = chunk.stream()
+                    .map(ProductExportView::getId)
+                    .collect(Collectors.toList());
+
+            // Cargar categorías y etiquetas de todo el bloque con una consulta cada una
+            Map<Long, Set<String>> categoryNames = groupNamesByProductId(
+                    productRepository.findCategoryNamesByProductIds(ids));
+            Map<Long, Set<String>> tagNames = groupNamesByProductId(
+                    productRepository.findTagNamesByProductIds(ids));
+
+            List<ProductDTO> dtos = chunk.stream()
+                    .map(view -> productMapper.toDto(view,
+                            categoryNames.getOrDefault(view.getId(), Collections.emptySet()),
+                            tagNames.getOrDefault(view.getId(), Collections.emptySet())))
+                    .collect(Collectors.toList());
+
+            chunkConsumer.accept(dtos);
+            lastId = ids.get(ids.size() - 1);
+        } while (chunk.size() == exportChunkSize);
+    }
+
+    private Map<Long, Set<String>> groupNamesByProductId(List<ProductAssociationView> rows) {
+        return rows.stream().collect(Collectors.groupingBy(ProductAssociationView::getProductId,
+                Collectors.mapping(ProductAssociationView::getName, Collectors.toSet())));
+    }
+
     @Override
     public Optional<ProductDTO> getProductDTOById(Long id) {
+        // Leer de la caché de productos; si no está, cargarlo de la base de datos
+        ProductDTO productDTO = productDtoCache.getById(id, this::loadProductDTO);
+
+        return Optional.of(productDTO);
+    }
+
+    private ProductDTO loadProductDTO(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
 
         // Convertir Product a ProductDTO usando el mapeador
-        ProductDTO productDTO = productMapper.toDto(product); // Convertir Product a ProductDTO
-
-        return Optional.of(productDTO);
+        return productMapper.toDto(product);
     }
 
     @Override
@@ -97,15 +209,26 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Optional<ProductDTO> getProductDTOBySku(String sku) {
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
-
-        // Convertir Product a ProductDTO usando el mapeador
-        ProductDTO productDTO = productMapper.toDto(product); // Convertir Product a ProductDTO
+        // Traducir el SKU a id (también en caché) y leer el producto de la caché de productos
+        ProductDTO productDTO = productDtoCache.getBySku(sku,
+                key -> productRepository.findIdBySku(key)
+                        .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado")),
+                this::loadProductDTO);
 
         return Optional.of(productDTO);
     }
 
+    @Override
+    public Optional<ProductVersionView> getProductVersionById(Long id) {
+        // Solo id y updatedAt: para decidir un 304 sin cargar el producto ni sus categorías y etiquetas
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    public Optional<ProductVersionView> getProductVersionBySku(String sku) {
+        return productRepository.findVersionBySku(sku);
+    }
+
     @Override
     public Page<ProductDTO> getProductDTOsByCategoriesIgnoreCaseSorted(
             List<String> categories, String sortBy, int page, int size) {
@@ -229,6 +352,158 @@ public class ProductServiceImpl implements ProductService {
         return productPage.map(productMapper::toDto);
     }
 
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsByCategoriesIgnoreCase(
+            List<String> categories, String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findDistinctByCategories_NameInIgnoreCase(categories, position, sort, limit));
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsByBrandsIgnoreCase(
+            List<String> brands, String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findByBrandInIgnoreCase(brands, position, sort, limit));
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsSorted(String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, productRepository::findAllBy);
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsByPriceGreaterThanEqual(int price, String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findByPriceGreaterThanEqual(price, position, sort, limit));
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsByPriceLessThanEqual(int price, String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findByPriceLessThanEqual(price, position, sort, limit));
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollProductDTOsByPriceBetween(int low, int high, String sortBy, String cursor, int size) {
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findByPriceBetween(low, high, position, sort, limit));
+    }
+
+    // Todos los filtros se combinan en una sola consulta SQL
+    @Override
+    public Page<ProductDTO> searchProductDTOs(ProductSearchCriteriaDTO criteria, String sortBy, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, ProductCursor.sort(sortBy));
+        return productRepository.findAll(toSpecification(criteria), pageable).map(productMapper::toDto);
+    }
+
+    @Override
+    public CursorPageDTO<ProductDTO> scrollSearchProductDTOs(ProductSearchCriteriaDTO criteria, String sortBy, String cursor, int size) {
+        Specification<Product> specification = toSpecification(criteria);
+        return scroll(sortBy, cursor, size, (position, sort, limit) ->
+                productRepository.findBy(specification, query -> query.sortBy(sort).limit(limit.max()).scroll(position)));
+    }
+
+    // Búsqueda de texto: el índice en memoria decide qué productos y en qué orden; la base de datos solo los carga
+    @Override
+    public Page<ProductDTO> searchProductDTOsByText(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        ProductSearchIndex.Hits hits = productSearchIndex.search(query, (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), size);
+        Map<Long, Product> products = productRepository.findAllById(hits.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+
+        // Un producto borrado entre la búsqueda y la carga simplemente no aparece
+        List<ProductDTO> content = hits.productIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toDto)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+
+    // Una consulta agrupada por faceta. Cada una aplica todos los filtros menos el suyo, para que junto al
+    // valor elegido se vea cuántos productos habría con los demás
+    @Override
+    public ProductFacetsDTO getProductFacets(ProductSearchCriteriaDTO criteria, List<Integer> priceBoundaries) {
+        // Sin límites válidos (p. ej. "?priceBoundaries=,") se usan los configurados
+        List<Integer> requested = priceBoundaries == null ? List.of()
+                : priceBoundaries.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<Integer> boundaries = requested.isEmpty() ? facetPriceBoundaries : requested;
+
+        return ProductFacetsDTO.builder()
+                .total(productRepository.count(toSpecification(criteria)))
+                .brands(productRepository.countByFacet(Facet.BRAND,
+                        toSpecification(criteria.toBuilder().brands(null).build()), facetMaxValues))
+                .categories(productRepository.countByFacet(Facet.CATEGORY,
+                        toSpecification(criteria.toBuilder().categories(null).build()), facetMaxValues))
+                .tags(productRepository.countByFacet(Facet.TAG,
+                        toSpecification(criteria.toBuilder().tags(null).build()), facetMaxValues))
+                .statuses(productRepository.countByFacet(Facet.STATUS,
+                        toSpecification(criteria.toBuilder().status(null).build()), facetMaxValues))
+                .priceRanges(toPriceRanges(boundaries, productRepository.countByPriceRanges(
+                        toSpecification(criteria.toBuilder().minPrice(null).maxPrice(null).build()), boundaries)))
+                .build();
+    }
+
+    private static List<PriceRangeCountDTO> toPriceRanges(List<Integer> boundaries, List<Long> counts) {
+        List<PriceRangeCountDTO> ranges = new ArrayList<>(counts.size());
+        for (int i = 0; i < counts.size(); i++) {
+            ranges.add(PriceRangeCountDTO.builder()
+                    .min(i > 0 ? boundaries.get(i - 1) : null)
+                    .max(i < boundaries.size() ? boundaries.get(i) : null)
+                    .count(counts.get(i))
+                    .build());
+        }
+        return ranges;
+    }
+
+    private Specification<Product> toSpecification(ProductSearchCriteriaDTO criteria) {
+        List<Specification<Product>> filters = new ArrayList<>();
+        if (criteria.getCategories() != null && !criteria.getCategories().isEmpty()) {
+            filters.add(ProductSpecifications.hasAnyCategory(criteria.getCategories()));
+        }
+        if (criteria.getBrands() != null && !criteria.getBrands().isEmpty()) {
+            filters.add(ProductSpecifications.hasAnyBrand(criteria.getBrands()));
+        }
+        if (criteria.getTags() != null && !criteria.getTags().isEmpty()) {
+            filters.add(ProductSpecifications.hasAnyTag(criteria.getTags()));
+        }
+        if (criteria.getMinPrice() != null) {
+            filters.add(ProductSpecifications.priceGreaterThanEqual(criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            filters.add(ProductSpecifications.priceLessThanEqual(criteria.getMaxPrice()));
+        }
+        if (criteria.getStatus() != null && !criteria.getStatus().isBlank()) {
+            filters.add(ProductSpecifications.hasStatus(criteria.getStatus()));
+        }
+        if (Boolean.TRUE.equals(criteria.getInStock())) {
+            filters.add(ProductSpecifications.inStock());
+        }
+        return Specification.allOf(filters);
+    }
+
+    // Consulta por keyset de uno de los listados
+    private interface ScrollQuery {
+        Window<Product> find(ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    // Lee la página que sigue al cursor (sin OFFSET ni count) y calcula el cursor de la siguiente
+    private CursorPageDTO<ProductDTO> scroll(String sortBy, String cursor, int size, ScrollQuery query) {
+        Window<Product> window = query.find(ProductCursor.decode(cursor, sortBy), ProductCursor.sort(sortBy), Limit.of(size));
+        List<Product> products = window.getContent();
+
+        String nextCursor = window.hasNext() && !products.isEmpty()
+                ? ProductCursor.encode(sortBy, products.get(products.size() - 1))
+                : null;
+
+        return CursorPageDTO.<ProductDTO>builder()
+                .content(products.stream().map(productMapper::toDto).toList())
+                .size(products.size())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     public ProductDTO createProductDTO(ProductCreateDTO productDTO, MultipartFile imageFile) throws IOException {
         // Verificar si ya existe un producto con el mismo SKU
@@ -236,28 +511,14 @@ public class ProductServiceImpl implements ProductService {
             throw new DuplicateSkuException("El SKU ya está en uso: " + productDTO.getSku());
         }
 
+        // Si se proporciona una imagen, empezar a guardarla en otro hilo mientras se preparan las categorías y etiquetas
+        CompletableFuture<StoredImage> storedImage = imageFile != null && !imageFile.isEmpty()
+                ? imageStorage.store(imageFile)
+                : null;
+
         // Convertir DTO a entidad Product
         Product product = productMapper.toEntity(productDTO);
 
-        // Si se proporciona una imagen, procesarla
-        String imagePath = null;
-        if (imageFile != null && !imageFile.isEmpty()) {
-            // Generar un nombre único para la imagen
-            String fileName = UUID.randomUUID() + "_" + imageFile.getOriginalFilename();
-            // String uploadDir = "src/main/resources/static/images/";
-            String uploadDir = "/app/images/";
-            Path path = Paths.get(uploadDir + fileName);
-
-            // Guardar la imagen en la carpeta del proyecto
-            Files.copy(imageFile.getInputStream(), path);
-
-            // Establecer la ruta de la imagen relativa
-            imagePath = "/images/" + fileName;
-        }
-
-        // Establecer la ruta de la imagen
-        product.setImagePath(imagePath);
-
         // Manejar las categorías
         Set<Category> categories = handleCategories(productDTO.getCategoryNames());
         product.setCategories(categories);
@@ -266,104 +527,207 @@ public class ProductServiceImpl implements ProductService {
         Set<Tag> tags = handleTags(productDTO.getTagNames());
         product.setTags(tags);
 
-        // Guardar el producto en la base de datos
-        Product savedProduct = productRepository.save(product);
+        // Establecer la ruta de la imagen cuando termine de escribirse. Si el producto no llega a guardarse, la imagen
+        // queda sin usar y la borra sweepOrphanImages: borrarla aquí podría quitársela a otra subida idéntica
+        product.setImagePath(storedImage != null ? awaitImage(storedImage).path() : null);
+
+        // Guardar el producto en la base de datos junto con su evento de alta
+        ProductDTO createdProduct = transactionTemplate.execute(status -> {
+            ProductDTO saved = productMapper.toDto(productRepository.save(product));
+            productEventOutbox.appendCreated(List.of(saved));
+            return saved;
+        });
+        productDtoCache.evictAfterCommit(createdProduct.getId(), createdProduct.getSku());
+        stockLevelIndex.putAfterCommit(createdProduct.getId(), createdProduct.getStock());
+
+        productSearchIndex.putAfterCommit(createdProduct);
+        return createdProduct;
+    }
 
-        // Convertir la entidad guardada de nuevo a DTO
-        return productMapper.toDto(savedProduct);
+    private static StoredImage awaitImage(CompletableFuture<StoredImage> storedImage) throws IOException {
+        try {
+            return storedImage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
     }
 
-    private Set<Category> handleCategories(Set<String> categoryNames) {
-        Set<Category> categories = new HashSet<>();
-        if (categoryNames != null) {
-            for (String categoryName : categoryNames) {
-                Optional<Category> existingCategory = categoryRepository.findByNameIgnoreCase(categoryName);
-                if (existingCategory.isPresent()) {
-                    categories.add(existingCategory.get());
-                } else {
-                    Category newCategory = new Category();
-                    newCategory.setName(categoryName);
-                    categories.add(categoryRepository.save(newCategory));
+    // Borra las imágenes (y sus versiones) que ningún producto usa y nadie ha subido durante el tiempo de gracia:
+    // subidas de productos que no llegaron a guardarse y restos de productos borrados o actualizados
+    @Scheduled(fixedDelayString = "${inventory.images.sweep-interval:PT1H}",
+            initialDelayString = "${inventory.images.sweep-interval:PT1H}")
+    public void sweepOrphanImages() {
+        Instant unusedSince = Instant.now().minus(imageOrphanGrace);
+        List<String> candidates = imageStorage.findUnusedSince(unusedSince);
+        int deleted = 0;
+        for (int from = 0; from < candidates.size(); from += exportChunkSize) {
+            List<String> chunk = candidates.subList(from, Math.min(from + exportChunkSize, candidates.size()));
+            Set<String> used = new HashSet<>(productRepository.findUsedImagePaths(chunk));
+            for (String path : chunk) {
+                if (!used.contains(path) && imageStorage.deleteIfUnusedSince(path, unusedSince)) {
+                    deleted++;
                 }
             }
         }
-        return categories;
+        if (deleted > 0) {
+            log.info("Borradas {} imágenes sin usar desde {}", deleted, unusedSince);
+        }
+    }
+
+    private Set<Category> handleCategories(Set<String> categoryNames) {
+        // Resolver todas las categorías con la caché de nombres (una consulta IN y un lote de inserciones como máximo)
+        return categoryNameCache.resolve(categoryNames);
     }
 
     private Set<Tag> handleTags(Set<String> tagNames) {
-        Set<Tag> tags = new HashSet<>();
-        if (tagNames != null) {
-            for (String tagName : tagNames) {
-                Optional<Tag> existingTag = tagRepository.findByNameIgnoreCase(tagName);
-                if (existingTag.isPresent()) {
-                    tags.add(existingTag.get());
-                } else {
-                    Tag newTag = new Tag();
-                    newTag.setName(tagName);
-                    tags.add(tagRepository.save(newTag));
-                }
+        // Resolver todas las etiquetas con la caché de nombres (una consulta IN y un lote de inserciones como máximo)
+        return tagNameCache.resolve(tagNames);
+    }
+
+    @Override
+    public BulkImportResultDTO createProductDTOs(List<ProductCreateDTO> productDTOS) {
+        BulkImportItemDTO[] results = new BulkImportItemDTO[productDTOS.size()];
+
+        // Validar cada producto por separado para que uno inválido no detenga toda la importación
+        List<Integer> pending = new ArrayList<>();
+        Set<String> requestSkus = new HashSet<>();
+        for (int i = 0; i < productDTOS.size(); i++) {
+            ProductCreateDTO productDTO = productDTOS.get(i);
+            Set<ConstraintViolation<ProductCreateDTO>> violations = validator.validate(productDTO);
+            if (!violations.isEmpty()) {
+                results[i] = failedItem(i, productDTO.getSku(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (!requestSkus.add(productDTO.getSku())) {
+                results[i] = failedItem(i, productDTO.getSku(), "SKU repetido en la petición: " + productDTO.getSku());
+            } else {
+                pending.add(i);
             }
         }
-        return tags;
+
+        // Importar por bloques, cada uno en su propia transacción
+        for (int from = 0; from < pending.size(); from += bulkChunkSize) {
+            importChunk(productDTOS, pending.subList(from, Math.min(from + bulkChunkSize, pending.size())), results);
+        }
+
+        List<BulkImportItemDTO> items = Arrays.asList(results);
+        int created = (int) items.stream().filter(BulkImportItemDTO::isSuccess).count();
+
+        return BulkImportResultDTO.builder()
+                .total(items.size())
+                .created(created)
+                .failed(items.size() - created)
+                .items(items)
+                .build();
     }
 
-    @Override
-    public List<ProductDTO> createProductDTOs(List<ProductCreateDTO> productDTOS) {
+    private void importChunk(List<ProductCreateDTO> productDTOS, List<Integer> indexes, BulkImportItemDTO[] results) {
+        // Comprobar en una sola consulta qué SKUs del bloque ya existen
+        Set<String> existingSkus = new HashSet<>(productRepository.findExistingSkus(indexes.stream()
+                .map(i -> productDTOS.get(i).getSku())
+                .collect(Collectors.toList())));
+
+        List<Integer> toInsert = new ArrayList<>();
+        for (Integer i : indexes) {
+            String sku = productDTOS.get(i).getSku();
+            if (existingSkus.contains(sku)) {
+                results[i] = failedItem(i, sku, "El SKU ya está en uso: " + sku);
+            } else {
+                toInsert.add(i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
 
-        List<Product> products = productDTOS.stream().map(productMapper::toEntity)
+        // Resolver de una vez las categorías y etiquetas de todos los productos del bloque
+        Map<String, Category> categoriesByKey = categoryNameCache.resolveAll(toInsert.stream()
+                .map(productDTOS::get)
+                .filter(dto -> Objects.nonNull(dto.getCategoryNames()))
+                .flatMap(dto -> dto.getCategoryNames().stream())
+                .collect(Collectors.toSet()));
+        Map<String, Tag> tagsByKey = tagNameCache.resolveAll(toInsert.stream()
+                .map(productDTOS::get)
+                .filter(dto -> Objects.nonNull(dto.getTagNames()))
+                .flatMap(dto -> dto.getTagNames().stream())
+                .collect(Collectors.toSet()));
+
+        List<Product> products = toInsert.stream()
+                .map(i -> toEntity(productDTOS.get(i), categoriesByKey, tagsByKey))
                 .collect(Collectors.toList());
 
-        // Crear una lista para almacenar los productos creados
-        List<Product> createdProducts = new ArrayList<>();
-
-        // Procesar cada producto de la lista
-        for (Product product : products) {
-            // Manejar las categorías
-            if (Objects.nonNull(product.getCategories()) && !product.getCategories().isEmpty()) {
-                Set<Category> categories = new HashSet<>();
-
-                for (Category category : product.getCategories()) {
-                    // Buscar la categoría por nombre
-                    Optional<Category> existingCategory = categoryRepository.findByNameIgnoreCase(category.getName());
-                    if (existingCategory.isPresent()) {
-                        // Si la categoría ya existe, agregarla al conjunto
-                        categories.add(existingCategory.get());
-                    } else {
-                        // Si la categoría no existe, crear una nueva y agregarla
-                        Category newCategory = new Category();
-                        newCategory.setName(category.getName());
-                        categories.add(categoryRepository.save(newCategory)); // Guarda la nueva categoría
-                    }
-                }
-                // Asignar las categorías al producto
-                product.setCategories(categories);
+        try {
+            // Productos, filas de las tablas de unión y eventos de alta en lotes JDBC, en una transacción por bloque
+            List<ProductDTO> created = transactionTemplate.execute(status -> insertInBatch(products));
+            products.forEach(product -> productDtoCache.evictAfterCommit(product.getId(), product.getSku()));
+            created.forEach(productSearchIndex::putAfterCommit);
+            for (int k = 0; k < products.size(); k++) {
+                results[toInsert.get(k)] = createdItem(toInsert.get(k), products.get(k));
             }
-            // Manejar las etiquetas (mismo proceso que las categorías)
-            if (Objects.nonNull(product.getTags()) && !product.getTags().isEmpty()) {
-                Set<Tag> tags = new HashSet<>();
-                for (Tag tag : product.getTags()) {
-                    // Buscar la etiqueta por nombre (ignorar mayúsculas y minúsculas)
-                    Optional<Tag> existingTag = tagRepository.findByNameIgnoreCase(tag.getName());
-                    if (existingTag.isPresent()) {
-                        // Si la etiqueta ya existe, agregarla al conjunto
-                        tags.add(existingTag.get());
-                    } else {
-                        // Si la etiqueta no existe, crear una nueva y agregarla
-                        Tag newTag = new Tag();
-                        newTag.setName(tag.getName());
-                        tags.add(tagRepository.save(newTag)); // Guardar la nueva etiqueta
-                    }
+        } catch (DataAccessException e) {
+            // El lote falló (por ejemplo, un SKU creado a la vez por otra petición): reintentar uno a uno
+            for (int k = 0; k < products.size(); k++) {
+                Product product = products.get(k);
+                product.setId(null);
+                try {
+                    List<ProductDTO> created = transactionTemplate.execute(status -> insertInBatch(List.of(product)));
+                    productDtoCache.evictAfterCommit(product.getId(), product.getSku());
+                    created.forEach(productSearchIndex::putAfterCommit);
+                    results[toInsert.get(k)] = createdItem(toInsert.get(k), product);
+                } catch (DataAccessException ex) {
+                    results[toInsert.get(k)] = failedItem(toInsert.get(k), product.getSku(),
+                            ex.getMostSpecificCause().getMessage());
                 }
-                // Asignar las etiquetas al producto
-                product.setTags(tags);
             }
+        }
+    }
+
+    private List<ProductDTO> insertInBatch(List<Product> products) {
+        productRepository.insertAllInBatch(products);
+        productRepository.insertAssociationsInBatch(products);
+        List<ProductDTO> created = products.stream().map(productMapper::toDto).toList();
+        productEventOutbox.appendCreated(created);
+        return created;
+    }
 
-            // Guardar el producto en la base de datos y añadirlo a la lista de productos creados
-            createdProducts.add(productRepository.save(product));
+    private Product toEntity(ProductCreateDTO productDTO, Map<String, Category> categoriesByKey, Map<String, Tag> tagsByKey) {
+        Product product = productMapper.toEntity(productDTO);
+
+        // Asignar las categorías ya resueltas al producto
+        if (Objects.nonNull(product.getCategories()) && !product.getCategories().isEmpty()) {
+            product.setCategories(product.getCategories().stream()
+                    .map(category -> categoriesByKey.get(NameDictionaryCache.key(category.getName())))
+                    .collect(Collectors.toSet()));
+        }
+        // Asignar las etiquetas ya resueltas al producto
+        if (Objects.nonNull(product.getTags()) && !product.getTags().isEmpty()) {
+            product.setTags(product.getTags().stream()
+                    .map(tag -> tagsByKey.get(NameDictionaryCache.key(tag.getName())))
+                    .collect(Collectors.toSet()));
         }
+        return product;
+    }
 
-        // Retornar la lista de productos creados
-        return createdProducts.stream().map(productMapper::toDto).collect(Collectors.toList());
+    private BulkImportItemDTO createdItem(int index, Product product) {
+        return BulkImportItemDTO.builder()
+                .index(index)
+                .sku(product.getSku())
+                .success(true)
+                .id(product.getId())
+                .build();
+    }
+
+    private BulkImportItemDTO failedItem(int index, String sku, String message) {
+        return BulkImportItemDTO.builder()
+                .index(index)
+                .sku(sku)
+                .success(false)
+                .message(message)
+                .build();
     }
 
     @Override
@@ -371,6 +735,9 @@ public class ProductServiceImpl implements ProductService {
         // Obtener el producto de la base de datos
         Product productDB = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        String previousSku = productDB.getSku();
+        Integer previousPrice = productDB.getPrice();
+        int previousStock = productDB.getStock();
 
         // Actualizar campos si no son nulos o vacíos
         if (Objects.nonNull(productDTO.getName()) && !productDTO.getName().trim().isEmpty()) {
@@ -395,56 +762,50 @@ public class ProductServiceImpl implements ProductService {
 
         // Actualizar las categorías si no son nulas o vacías
         if (Objects.nonNull(productDTO.getCategoryNames()) && !productDTO.getCategoryNames().isEmpty()) {
-            Set<Category> categories = new HashSet<>();
-            for (String categoryName : productDTO.getCategoryNames()) {
-                // Buscar la categoría por nombre
-                Optional<Category> existingCategory = categoryRepository.findByNameIgnoreCase(categoryName);
-                if (existingCategory.isPresent()) {
-                    // Si la categoría ya existe, agregarla al conjunto
-                    categories.add(existingCategory.get());
-                } else {
-                    // Si la categoría no existe, crear una nueva y agregarla
-                    Category newCategory = new Category();
-                    newCategory.setName(categoryName);
-                    categories.add(categoryRepository.save(newCategory)); // Guarda la nueva categoría
-                }
-            }
-            // Actualizar las categorías del producto
-            productDB.setCategories(categories);
+            productDB.setCategories(handleCategories(productDTO.getCategoryNames()));
         }
 
         // Actualizar las etiquetas si no son nulas o vacías
         if (Objects.nonNull(productDTO.getTagNames()) && !productDTO.getTagNames().isEmpty()) {
-            Set<Tag> tags = new HashSet<>();
-            for (String tagName : productDTO.getTagNames()) {
-                // Buscar la etiqueta por nombre (ignorar mayúsculas y minúsculas)
-                Optional<Tag> existingTag = tagRepository.findByNameIgnoreCase(tagName);
-                if (existingTag.isPresent()) {
-                    // Si la etiqueta ya existe, agregarla al conjunto
-                    tags.add(existingTag.get());
-                } else {
-                    // Si la etiqueta no existe, crear una nueva y agregarla
-                    Tag newTag = new Tag();
-                    newTag.setName(tagName);
-                    tags.add(tagRepository.save(newTag)); // Guardar la nueva etiqueta
-                }
-            }
-            // Asignar las etiquetas al producto
-            productDB.setTags(tags);
+            productDB.setTags(handleTags(productDTO.getTagNames()));
         }
 
-        // Guardar el producto actualizado
-        Product updatedProduct = productRepository.save(productDB);
+        // Cambiar solo categorías o etiquetas no modifica la fila del producto; marcarla como
+        // actualizada para que su ETag y Last-Modified cambien también en ese caso
+        productDB.setUpdatedAt(LocalDateTime.now());
+
+        // Guardar el producto actualizado junto con sus eventos de modificación. El UPDATE va antes que los eventos
+        // para que otra escritura del mismo producto espere a esta transacción antes de añadir los suyos: así el
+        // orden de los ids en outbox_events es el de los cambios del producto
+        ProductDTO updatedProductDTO = transactionTemplate.execute(status -> {
+            ProductDTO updated = productMapper.toDto(productRepository.saveAndFlush(productDB));
+            productEventOutbox.appendUpdated(updated, previousPrice, previousStock);
+            return updated;
+        });
+        productDtoCache.evictAfterCommit(id, previousSku, updatedProductDTO.getSku());
+        stockLevelIndex.putAfterCommit(id, updatedProductDTO.getStock());
 
         // Devolver el DTO del producto actualizado
-        return productMapper.toDto(updatedProduct);
+        productSearchIndex.putAfterCommit(updatedProductDTO);
+        return updatedProductDTO;
     }
 
     @Override
     public void deleteProductById(Long id) {
-        productRepository.findById(id).orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
 
-        productRepository.deleteById(id);
+        // El tombstone (para el feed de cambios) y el evento se escriben en la misma transacción que el borrado,
+        // el evento después del DELETE (ver updateProductDTO)
+        transactionTemplate.executeWithoutResult(status -> {
+            productTombstoneRepository.insertForProducts(List.of(id), LocalDateTime.now());
+            productRepository.deleteById(id);
+            productRepository.flush();
+            productEventOutbox.appendDeleted(Map.of(id, product.getSku()));
+        });
+        productDtoCache.evictAfterCommit(id, product.getSku());
+        stockLevelIndex.removeAfterCommit(id);
+        productSearchIndex.removeAfterCommit(id);
     }
 
     @Override
@@ -462,8 +823,20 @@ public class ProductServiceImpl implements ProductService {
                 .filter(id -> !foundIds.contains(id))
                 .collect(Collectors.toList());
 
-        // Eliminar los productos encontrados
-        productRepository.deleteAll(foundProducts);
+        // Eliminar los productos encontrados, dejando sus tombstones para el feed de cambios y sus eventos de borrado
+        if (!foundIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                productTombstoneRepository.insertForProducts(foundIds, LocalDateTime.now());
+                productRepository.deleteAll(foundProducts);
+                productRepository.flush();
+                productEventOutbox.appendDeleted(skusById(foundProducts));
+            });
+        }
+        foundProducts.forEach(product -> {
+            productDtoCache.evictAfterCommit(product.getId(), product.getSku());
+            stockLevelIndex.removeAfterCommit(product.getId());
+            productSearchIndex.removeAfterCommit(product.getId());
+        });
 
         // Retornar los IDs no encontrados
         return notFoundIds;
@@ -471,20 +844,33 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Long> deleteAllProducts() {
-        // Obtener todos los productos de la base de datos
-        List<Product> allProducts = productRepository.findAll();
-
-        // Obtener los IDs de los productos
-        List<Long> productIds = allProducts.stream()
-                .map(Product::getId)
-                .collect(Collectors.toList());
-
-        // Eliminar todos los productos
-        productRepository.deleteAll();
+        // Eliminar todos los productos, dejando sus tombstones para el feed de cambios y sus eventos de borrado.
+        // Se leen en la misma transacción para que los eventos cubran exactamente los productos borrados
+        List<Long> productIds = transactionTemplate.execute(status -> {
+            List<Product> allProducts = productRepository.findAll();
+            productTombstoneRepository.insertForAllProducts(LocalDateTime.now());
+            productRepository.deleteAll(allProducts);
+            productRepository.flush();
+            productEventOutbox.appendDeleted(skusById(allProducts));
+
+            // Obtener los IDs de los productos
+            return allProducts.stream()
+                    .map(Product::getId)
+                    .collect(Collectors.toList());
+        });
+        productDtoCache.invalidateAll();
+        stockLevelIndex.clear();
+        productSearchIndex.clear();
 
         // Devolver los IDs de los productos eliminados
         return productIds;
     }
 
+    private static Map<Long, String> skusById(List<Product> products) {
+        Map<Long, String> skusById = new LinkedHashMap<>();
+        products.forEach(product -> skusById.put(product.getId(), product.getSku()));
+        return skusById;
+    }
+
 
 }
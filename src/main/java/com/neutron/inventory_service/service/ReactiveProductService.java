@@ -0,0 +1,25 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReactiveProductService {
+    Flux<ProductDTO> streamAllProductDTOs();
+    Mono<ProductDTO> getProductDTOById(Long id);
+    Mono<Map<String, Object>> getProductDTOsById(List<Long> ids);
+    Mono<ProductDTO> getProductDTOBySku(String sku);
+    Mono<Page<ProductDTO>> getProductDTOsByCategoriesIgnoreCaseSorted(
+            List<String> categories, String sortBy, int page, int size);
+    Mono<Page<ProductDTO>> getProductDTOsByBrandsIgnoreCaseSorted(
+            List<String> brands, String sortBy, int page, int size);
+    Mono<Page<ProductDTO>> getProductDTOsSortedByPriceAsc(int page, int size);
+    Mono<Page<ProductDTO>> getProductDTOsSortedByPriceDesc(int page, int size);
+    Mono<Page<ProductDTO>> getProductDTOsByPriceGreaterThanEqual(int price, int page, int size, String sortBy);
+    Mono<Page<ProductDTO>> getProductDTOsByPriceLessThanEqual(int price, int page, int size, String sortBy);
+    Mono<Page<ProductDTO>> getProductDTOsByPriceBetween(int low, int high, int page, int size, String sortBy);
+}
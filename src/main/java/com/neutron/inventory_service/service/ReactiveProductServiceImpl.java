@@ -0,0 +1,182 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.mapper.ProductMapper;
+import com.neutron.inventory_service.repository.ReactiveProductRepository;
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import com.neutron.inventory_service.repository.projection.ProductExportView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lecturas del catálogo sobre R2DBC: mismas consultas y mismos ProductDTO que ProductServiceImpl,
+ * sin ocupar un hilo ni una conexión JDBC mientras la base de datos responde.
+ */
+@Service
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ProductMapper productMapper;
+    private final int exportChunkSize;
+
+    public ReactiveProductServiceImpl(ReactiveProductRepository reactiveProductRepository, ProductMapper productMapper,
+                                      @Value("${inventory.export.chunk-size:500}") int exportChunkSize) {
+        this.reactiveProductRepository = reactiveProductRepository;
+        this.productMapper = productMapper;
+        this.exportChunkSize = exportChunkSize;
+    }
+
+    @Override
+    public Flux<ProductDTO> streamAllProductDTOs() {
+        // Recorrer el catálogo por bloques usando el id como cursor. Cada bloque se lee entero antes de
+        // consultar sus categorías y etiquetas, así ninguna consulta retiene una conexión mientras
+        // espera otra, y el siguiente bloque solo se pide cuando el consumidor ha procesado el anterior
+        return nextChunk(0L)
+                .expand(chunk -> chunk.size() < exportChunkSize
+                        ? Mono.empty()
+                        : nextChunk(chunk.get(chunk.size() - 1).getId()))
+                .concatMap(this::toDtos, 1)
+                .flatMapIterable(dtos -> dtos);
+    }
+
+    private Mono<List<ProductExportView>> nextChunk(Long lastId) {
+        return reactiveProductRepository.findByIdGreaterThanOrderByIdAsc(lastId, exportChunkSize)
+                .collectList()
+                .filter(chunk -> !chunk.isEmpty());
+    }
+
+    @Override
+    public Mono<ProductDTO> getProductDTOById(Long id) {
+        return reactiveProductRepository.findById(id)
+                .flatMap(view -> toDtos(List.of(view)))
+                .map(dtos -> dtos.get(0));
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getProductDTOsById(List<Long> ids) {
+        // Misma respuesta que ProductServiceImpl: los encontrados y los ids que no existen; vacío si no hay ninguno
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return reactiveProductRepository.findAllById(ids)
+                .collectList()
+                .filter(views -> !views.isEmpty())
+                .flatMap(this::toDtos)
+                .map(found -> {
+                    Set<Long> foundIds = found.stream().map(ProductDTO::getId).collect(Collectors.toSet());
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("foundProducts", found);
+                    response.put("notFoundIds", ids.stream().filter(id -> !foundIds.contains(id)).toList());
+                    return response;
+                });
+    }
+
+    @Override
+    public Mono<ProductDTO> getProductDTOBySku(String sku) {
+        return reactiveProductRepository.findBySku(sku)
+                .flatMap(view -> toDtos(List.of(view)))
+                .map(dtos -> dtos.get(0));
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsByCategoriesIgnoreCaseSorted(
+            List<String> categories, String sortBy, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy));
+        return toPage(reactiveProductRepository.findByCategoryNamesIgnoreCase(categories, pageable),
+                reactiveProductRepository.countByCategoryNamesIgnoreCase(categories), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsByBrandsIgnoreCaseSorted(
+            List<String> brands, String sortBy, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy));
+        return toPage(reactiveProductRepository.findByBrandsIgnoreCase(brands, pageable),
+                reactiveProductRepository.countByBrandsIgnoreCase(brands), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsSortedByPriceAsc(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, sort("price-asc"));
+        return toPage(reactiveProductRepository.findAll(pageable), reactiveProductRepository.count(), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsSortedByPriceDesc(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, sort("price-desc"));
+        return toPage(reactiveProductRepository.findAll(pageable), reactiveProductRepository.count(), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsByPriceGreaterThanEqual(int price, int page, int size, String sortBy) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy));
+        return toPage(reactiveProductRepository.findByPriceGreaterThanEqual(price, pageable),
+                reactiveProductRepository.countByPriceGreaterThanEqual(price), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsByPriceLessThanEqual(int price, int page, int size, String sortBy) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy));
+        return toPage(reactiveProductRepository.findByPriceLessThanEqual(price, pageable),
+                reactiveProductRepository.countByPriceLessThanEqual(price), pageable);
+    }
+
+    @Override
+    public Mono<Page<ProductDTO>> getProductDTOsByPriceBetween(int low, int high, int page, int size, String sortBy) {
+        Pageable pageable = PageRequest.of(page, size, sort(sortBy));
+        return toPage(reactiveProductRepository.findByPriceBetween(low, high, pageable),
+                reactiveProductRepository.countByPriceBetween(low, high), pageable);
+    }
+
+    // Mismos criterios que ProductServiceImpl; el id desempata para que las páginas no se solapen
+    private static Sort sort(String sortBy) {
+        Sort sort = switch (sortBy) {
+            case "price-asc" -> Sort.by(Sort.Direction.ASC, "price");
+            case "price-desc" -> Sort.by(Sort.Direction.DESC, "price");
+            case "name-asc" -> Sort.by(Sort.Direction.ASC, "name");
+            case "name-desc" -> Sort.by(Sort.Direction.DESC, "name");
+            default -> Sort.unsorted(); // Sin ordenamiento si no se especifica
+        };
+        return sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    private Mono<Page<ProductDTO>> toPage(Flux<ProductExportView> content, Mono<Long> total, Pageable pageable) {
+        return content.collectList()
+                .flatMap(this::toDtos)
+                .zipWith(total, (dtos, count) -> new PageImpl<>(dtos, pageable, count));
+    }
+
+    // Categorías y etiquetas de todo el bloque con una consulta cada una
+    private Mono<List<ProductDTO>> toDtos(List<ProductExportView> views) {
+        if (views.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> ids = views.stream().map(ProductExportView::getId).toList();
+        return Mono.zip(
+                        groupNamesByProductId(reactiveProductRepository.findCategoryNamesByProductIds(ids)),
+                        groupNamesByProductId(reactiveProductRepository.findTagNamesByProductIds(ids)))
+                .map(names -> views.stream()
+                        .map(view -> productMapper.toDto(view,
+                                names.getT1().getOrDefault(view.getId(), Collections.emptySet()),
+                                names.getT2().getOrDefault(view.getId(), Collections.emptySet())))
+                        .toList());
+    }
+
+    private static Mono<Map<Long, Set<String>>> groupNamesByProductId(Flux<ProductAssociationView> rows) {
+        return rows.collect(Collectors.groupingBy(ProductAssociationView::getProductId,
+                Collectors.mapping(ProductAssociationView::getName, Collectors.toSet())));
+    }
+}
@@ -1,10 +1,21 @@
 package com.neutron.inventory_service.service;
 
-import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.dto.OrderPlacedEventDTO;
+import com.neutron.inventory_service.dto.StockAvailabilityDTO;
+import com.neutron.inventory_service.dto.StockReservationLineDTO;
+import com.neutron.inventory_service.dto.StockReservationResultDTO;
+import com.neutron.inventory_service.repository.projection.ProductStockView;
+
+import java.util.List;
+import java.util.Map;
 
 public interface StockService {
     void reduceStock(Long productId, int quantity);
     void increaseStock(Long productId, int quantity);
+    StockReservationResultDTO reserveStock(List<StockReservationLineDTO> lines);
+    // Resultado de cada pedido nuevo por su id; los ya procesados antes no aparecen
+    Map<String, StockReservationResultDTO> reserveStockForOrders(List<OrderPlacedEventDTO> orders);
     boolean checkStockAvailability(Long productId, int quantity);
-    void notifyLowStock(Product product);
+    StockAvailabilityDTO checkStockAvailability(Map<Long, Integer> quantities);
+    void notifyLowStock(ProductStockView product);
 }
@@ -1,13 +1,39 @@
 package com.neutron.inventory_service.service;
 
+import com.neutron.inventory_service.cache.ProductDtoCache;
+import com.neutron.inventory_service.cache.StockLevelIndex;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.dto.LowStockEventDTO;
+import com.neutron.inventory_service.dto.OrderPlacedEventDTO;
+import com.neutron.inventory_service.dto.OrderRejectedEventDTO;
+import com.neutron.inventory_service.dto.StockAvailabilityDTO;
+import com.neutron.inventory_service.dto.StockReservationLineDTO;
+import com.neutron.inventory_service.dto.StockReservationLineResultDTO;
+import com.neutron.inventory_service.dto.StockReservationResultDTO;
 import com.neutron.inventory_service.error.InsufficientStockException;
 import com.neutron.inventory_service.error.ProductNotFoundException;
+import com.neutron.inventory_service.messaging.ProductEventOutbox;
+import com.neutron.inventory_service.messaging.ProductEventOutbox.StockChange;
+import com.neutron.inventory_service.messaging.StockEventOutbox;
+import com.neutron.inventory_service.model.ProcessedOrder;
 import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.ProcessedOrderRepository;
 import com.neutron.inventory_service.repository.ProductRepository;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.neutron.inventory_service.repository.projection.ProductStockView;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 public class StockServiceImpl implements StockService {
 
@@ -15,53 +41,319 @@ public class StockServiceImpl implements StockService {
     private ProductRepository productRepository;
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private StockEventOutbox stockEventOutbox;
+
+    @Autowired
+    private ProductEventOutbox productEventOutbox;
+
+    @Autowired
+    private ProductDtoCache productDtoCache;
+
+    @Autowired
+    private StockLevelIndex stockLevelIndex;
+
+    @Autowired
+    private ProcessedOrderRepository processedOrderRepository;
 
-    private static final String STOCK_EXCHANGE = "stockExchange";
-    private static final String ROUTING_KEY = "stock.low";
+    @Value("${inventory.orders.dedupe-retention:P7D}")
+    private Duration dedupeRetention;
+
+    private static final int LOW_STOCK_THRESHOLD = 10;
 
     // Método para reducir el stock después de un pedido
     @Override
+    @Transactional
     public void reduceStock(Long productId, int quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        // Una cantidad negativa pasaría la condición stock >= cantidad y sumaría stock
+        requirePositive(quantity);
 
-        if (product.getStock() < quantity) {
+        // La comprobación y la resta se hacen en una sola sentencia UPDATE condicional,
+        // por lo que dos pedidos concurrentes no pueden vender el mismo stock
+        if (productRepository.decrementStock(productId, quantity) == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new ProductNotFoundException("Producto no encontrado");
+            }
             throw new InsufficientStockException("Stock insuficiente");
         }
 
-        product.setStock(product.getStock() - quantity);
-        productRepository.save(product);
+        // Una segunda ida a la base de datos para leer el SKU y el stock resultante (caché y eventos):
+        // JPQL no tiene UPDATE ... RETURNING. El UPDATE bloquea la fila hasta el commit, así que lee lo escrito
+        ProductStockView product = productRepository.findStockViewById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        productDtoCache.evictAfterCommit(productId, product.getSku());
+        stockLevelIndex.putAfterCommit(productId, product.getStock());
 
-        // Verificar si el stock es bajo y enviar una notificación si es necesario
-        if (product.getStock() < 10) {
+        int previousStock = product.getStock() + quantity;
+        productEventOutbox.appendStockChanged(List.of(
+                new StockChange(productId, product.getSku(), previousStock, product.getStock())));
+
+        // Notificar solo cuando esta reducción cruza el umbral, no en cada venta por debajo de él
+        if (previousStock >= LOW_STOCK_THRESHOLD && product.getStock() < LOW_STOCK_THRESHOLD) {
             notifyLowStock(product);
         }
     }
 
     // Método para incrementar el stock
     @Override
+    @Transactional
     public void increaseStock(Long productId, int quantity) {
-        Product product = productRepository.findById(productId)
+        requirePositive(quantity);
+        if (productRepository.incrementStock(productId, quantity) == 0) {
+            throw new ProductNotFoundException("Producto no encontrado");
+        }
+
+        // Como en reduceStock, una segunda consulta para el SKU y el stock resultante
+        ProductStockView product = productRepository.findStockViewById(productId)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        productDtoCache.evictAfterCommit(productId, product.getSku());
+        stockLevelIndex.putAfterCommit(productId, product.getStock());
+        productEventOutbox.appendStockChanged(List.of(
+                new StockChange(productId, product.getSku(), product.getStock() - quantity, product.getStock())));
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor que 0");
+        }
+    }
+
+    // Reserva todas las líneas de un pedido o ninguna, en una sola transacción
+    @Override
+    @Transactional
+    public StockReservationResultDTO reserveStock(List<StockReservationLineDTO> lines) {
+        // Agrupar las líneas por producto, ordenadas por id para bloquear siempre en el mismo orden
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (StockReservationLineDTO line : lines) {
+            requested.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        // Una sola consulta que bloquea (SELECT ... FOR UPDATE) todas las filas del pedido
+        Map<Long, Product> products = productRepository.findAllByIdInOrderByIdForUpdate(requested.keySet())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        StockReservationResultDTO result = reserveLines(requested, products);
+
+        if (result.isReserved()) {
+            // Los cambios se escriben al hacer commit como un único lote de UPDATE (hibernate.jdbc.batch_size)
+            List<StockChange> changes = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+                Product product = products.get(entry.getKey());
+                changes.add(afterStockReserved(product, product.getStock() + entry.getValue()));
+            }
+            productEventOutbox.appendStockChanged(changes);
+        }
+        return result;
+    }
+
+    // Reserva las líneas de varios pedidos de order.placed en una sola transacción: cada pedido se reserva
+    // entero o se rechaza, pero todos comparten una consulta de bloqueo y un lote de UPDATE por producto
+    @Override
+    @Transactional
+    public Map<String, StockReservationResultDTO> reserveStockForOrders(List<OrderPlacedEventDTO> orders) {
+        // Un pedido repetido dentro del mismo lote cuenta una sola vez
+        Map<String, OrderPlacedEventDTO> pending = new LinkedHashMap<>();
+        orders.forEach(order -> pending.putIfAbsent(order.getOrderId(), order));
+
+        // Bloquear los productos de todo el lote antes de consultar los pedidos ya procesados: una
+        // redelivery concurrente del mismo pedido espera aquí y después lo encuentra ya aplicado
+        Set<Long> productIds = pending.values().stream()
+                .flatMap(order -> order.getLines().stream())
+                .map(StockReservationLineDTO::getProductId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Product> products = productRepository.findAllByIdInOrderByIdForUpdate(productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        processedOrderRepository.findExistingOrderIds(pending.keySet()).forEach(pending::remove);
+
+        Map<Long, Integer> initialStock = new HashMap<>();
+        products.values().forEach(product -> initialStock.put(product.getId(), product.getStock()));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, StockReservationResultDTO> results = new LinkedHashMap<>();
+        List<ProcessedOrder> processedOrders = new ArrayList<>();
+        for (OrderPlacedEventDTO order : pending.values()) {
+            Map<Long, Integer> requested = new TreeMap<>();
+            for (StockReservationLineDTO line : order.getLines()) {
+                requested.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+            }
+
+            StockReservationResultDTO result = reserveLines(requested, products);
+            results.put(order.getOrderId(), result);
+            processedOrders.add(ProcessedOrder.builder()
+                    .orderId(order.getOrderId())
+                    .reserved(result.isReserved())
+                    .processedAt(now)
+                    .build());
+
+            // El rechazo se publica por la outbox: solo sale si el lote se confirma
+            if (!result.isReserved()) {
+                OrderRejectedEventDTO event = OrderRejectedEventDTO.builder()
+                        .orderId(order.getOrderId())
+                        .lines(result.getLines())
+                        .occurredAt(now)
+                        .build();
+                stockEventOutbox.append(RabbitMQConfig.ORDER_DEAD_LETTER_EXCHANGE,
+                        RabbitMQConfig.ORDER_INSUFFICIENT_STOCK_ROUTING_KEY, null, event);
+            }
+        }
+        processedOrderRepository.saveAll(processedOrders);
+
+        // Una invalidación, un evento de stock y como mucho una notificación de stock bajo por producto,
+        // con el stock final del lote
+        List<StockChange> changes = new ArrayList<>();
+        for (Product product : products.values()) {
+            int previousStock = initialStock.get(product.getId());
+            if (product.getStock() != previousStock) {
+                changes.add(afterStockReserved(product, previousStock));
+            }
+        }
+        productEventOutbox.appendStockChanged(changes);
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.orders.dedupe-purge-interval:PT1H}")
+    public void purgeProcessedOrders() {
+        int purged = processedOrderRepository.deleteByProcessedAtBefore(LocalDateTime.now().minus(dedupeRetention));
+        if (purged > 0) {
+            log.info("Purgados {} pedidos procesados anteriores a {}", purged, dedupeRetention);
+        }
+    }
+
+    // Comprueba las líneas (agrupadas por producto) contra las entidades bloqueadas y, si todas tienen
+    // stock suficiente, lo descuenta en ellas
+    private StockReservationResultDTO reserveLines(Map<Long, Integer> requested, Map<Long, Product> products) {
+        List<StockReservationLineResultDTO> results = new ArrayList<>();
+        boolean reserved = true;
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Product product = products.get(entry.getKey());
+            int available = product != null ? product.getStock() : 0;
+            boolean sufficient = product != null && available >= entry.getValue();
+            reserved &= sufficient;
+
+            results.add(StockReservationLineResultDTO.builder()
+                    .productId(entry.getKey())
+                    .requested(entry.getValue())
+                    .available(available)
+                    .found(product != null)
+                    .sufficient(sufficient)
+                    .build());
+        }
+
+        if (reserved) {
+            for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+                Product product = products.get(entry.getKey());
+                product.setStock(product.getStock() - entry.getValue());
+            }
+        }
+
+        return StockReservationResultDTO.builder()
+                .reserved(reserved)
+                .lines(results)
+                .build();
+    }
 
-        product.setStock(product.getStock() + quantity);
-        productRepository.save(product);
+    // Devuelve el cambio de stock del producto para publicarlo junto con los demás de la transacción
+    private StockChange afterStockReserved(Product product, int previousStock) {
+        productDtoCache.evictAfterCommit(product.getId(), product.getSku());
+        stockLevelIndex.putAfterCommit(product.getId(), product.getStock());
+
+        // Notificar solo a los productos que cruzan el umbral con esta reserva
+        if (previousStock >= LOW_STOCK_THRESHOLD && product.getStock() < LOW_STOCK_THRESHOLD) {
+            notifyLowStock(new StockSnapshot(product.getId(), product.getName(), product.getSku(), product.getStock()));
+        }
+        return new StockChange(product.getId(), product.getSku(), previousStock, product.getStock());
     }
 
     // Método para verificar disponibilidad de stock
     @Override
     public boolean checkStockAvailability(Long productId, int quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+        int stock = stockLevelIndex.get(productId);
+        if (stock == StockLevelIndex.MISSING) {
+            ProductStockView product = productRepository.findStockViewById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado"));
+            stock = product.getStock();
+            stockLevelIndex.put(productId, stock);
+        }
+
+        return stock >= quantity;
+    }
 
-        return product.getStock() >= quantity;
+    // Verifica la disponibilidad de varios productos a la vez: primero en la vista en memoria
+    // y, para los que no están, con una sola consulta a la base de datos
+    @Override
+    public StockAvailabilityDTO checkStockAvailability(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("La cantidad del producto " + entry.getKey()
+                        + " debe ser un número mayor o igual a 0");
+            }
+        }
+
+        Map<Long, Boolean> available = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            int stock = stockLevelIndex.get(entry.getKey());
+            if (stock == StockLevelIndex.MISSING) {
+                missing.add(entry.getKey());
+            } else {
+                available.put(entry.getKey(), stock >= entry.getValue());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (ProductStockView product : productRepository.findStockViewsByIdIn(missing)) {
+                stockLevelIndex.put(product.getId(), product.getStock());
+                available.put(product.getId(), product.getStock() >= quantities.get(product.getId()));
+            }
+        }
+
+        List<Long> notFoundIds = missing.stream()
+                .filter(id -> !available.containsKey(id))
+                .toList();
+
+        return StockAvailabilityDTO.builder()
+                .available(available)
+                .notFoundIds(notFoundIds)
+                .build();
     }
 
-    // Método para enviar notificación de bajo stock
+    // Método para enviar notificación de bajo stock: se guarda en la outbox dentro de la misma
+    // transacción que el cambio de stock y OutboxRelay la publica en segundo plano
     @Override
-    public void notifyLowStock(Product product) {
-        String message = "Producto " + product.getName() + " está bajo en stock. Quedan " + product.getStock() + " unidades.";
-        rabbitTemplate.convertAndSend(STOCK_EXCHANGE, ROUTING_KEY, message);
+    public void notifyLowStock(ProductStockView product) {
+        LowStockEventDTO event = LowStockEventDTO.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .stock(product.getStock())
+                .threshold(LOW_STOCK_THRESHOLD)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        stockEventOutbox.append(RabbitMQConfig.STOCK_EXCHANGE, RabbitMQConfig.STOCK_LOW_ROUTING_KEY, product.getId(), event);
+    }
+
+    // Vista de stock construida a partir de una entidad ya cargada, sin volver a consultar la base de datos
+    private record StockSnapshot(Long id, String name, String sku, int stock) implements ProductStockView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getSku() {
+            return sku;
+        }
+
+        @Override
+        public int getStock() {
+            return stock;
+        }
     }
 }
@@ -0,0 +1,135 @@
+package com.neutron.inventory_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Genera las versiones reducidas (ImageVariant) de una imagen ya guardada.
+ * <p>
+ * Se escriben con el mismo formato que el original; si ImageIO no sabe leerlo o escribirlo no se
+ * genera nada y el manejador de /images sirve el original en su lugar. Las imágenes más pequeñas
+ * que una versión se copian tal cual.
+ */
+@Slf4j
+@Component
+public class ImageDerivatives {
+
+    // Evita decodificar imágenes enormes (p. ej. un PNG muy comprimido de 50000 x 50000)
+    private static final long MAX_PIXELS = 50_000_000L;
+
+    public void generate(Path original) {
+        Path directory = original.getParent();
+        String fileName = original.getFileName().toString();
+        try {
+            BufferedImage image = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                Optional<String> variantName = variant.fileName(fileName);
+                if (variantName.isEmpty() || Files.exists(directory.resolve(variantName.get()))) {
+                    continue;
+                }
+                if (image == null) {
+                    image = read(original);
+                    if (image == null) {
+                        return;
+                    }
+                }
+                write(original, image, variant, directory.resolve(variantName.get()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudieron generar las versiones reducidas de {}", original, e);
+        }
+    }
+
+    private static BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    log.warn("Imagen demasiado grande para generar versiones reducidas: {}", original);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void write(Path original, BufferedImage image, ImageVariant variant, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            int longestSide = Math.max(image.getWidth(), image.getHeight());
+            if (longestSide <= variant.maxSize()) {
+                Files.copy(original, temp, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                String format = format(target);
+                if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+                    return;
+                }
+                boolean keepAlpha = !Set.of("jpg", "jpeg", "bmp", "wbmp").contains(format);
+                BufferedImage resized = resize(image, variant.maxSize() / (double) longestSide, keepAlpha);
+                if (!ImageIO.write(resized, format, temp.toFile())) {
+                    return;
+                }
+            }
+            // El original pudo borrarse mientras tanto (producto que no llegó a guardarse)
+            if (Files.exists(original)) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Reduce a la mitad mientras sobre, y después un último paso bilineal, para no perder detalle
+    private static BufferedImage resize(BufferedImage image, double scale, boolean keepAlpha) {
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = keepAlpha && image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Formato de escritura según la extensión; sin extensión, PNG
+    private static String format(Path target) {
+        String name = target.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.contains(".") ? name.substring(name.lastIndexOf('.') + 1) : "png";
+    }
+}
@@ -0,0 +1,33 @@
+package com.neutron.inventory_service.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Almacén de las imágenes de producto.
+ * <p>
+ * Las imágenes se guardan por el hash de su contenido: subir dos veces la misma imagen devuelve la
+ * misma ruta y solo ocupa un archivo. La escritura se hace fuera del hilo de la petición; el
+ * resultado es la ruta pública con la que se sirve la imagen (p. ej. {@code /images/<hash>.png}).
+ * <p>
+ * Como un mismo archivo puede pasar a usarlo otro producto en cualquier momento, las imágenes no
+ * se borran al descartar una subida: un barrido periódico borra las que ningún producto usa y no
+ * se han escrito ni reutilizado en un tiempo de gracia (más largo que cualquier transacción).
+ */
+public interface ImageStorage {
+
+    // El MultipartFile debe seguir disponible hasta que el futuro termine (es decir, dentro de la petición)
+    CompletableFuture<StoredImage> store(MultipartFile image);
+
+    // Borra la imagen de una ruta devuelta por store; no hace nada si ya no existe
+    void delete(String path);
+
+    // Rutas de las imágenes que nadie ha escrito ni reutilizado con store desde el instante dado
+    List<String> findUnusedSince(Instant since);
+
+    // Borra la imagen y sus versiones si sigue sin usarse desde el instante dado; false si se reutilizó
+    boolean deleteIfUnusedSince(String path, Instant since);
+}
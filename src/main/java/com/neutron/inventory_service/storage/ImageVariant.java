@@ -0,0 +1,67 @@
+package com.neutron.inventory_service.storage;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versiones reducidas de una imagen de producto, generadas en segundo plano tras la subida.
+ * <p>
+ * Solo las imágenes guardadas por hash tienen versiones: {@code <sha256>.png} da lugar a
+ * {@code <sha256>-thumb.png} y {@code <sha256>-list.png}, con el lado mayor reducido a
+ * {@code maxSize} píxeles.
+ */
+public enum ImageVariant {
+
+    THUMBNAIL("thumb", 160),
+    LISTING("list", 480);
+
+    private static final Pattern ORIGINAL = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,5})?");
+    private static final Pattern DERIVATIVE = Pattern.compile("([0-9a-f]{64})-[a-z]+(\\.[a-z0-9]{1,5})?");
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageVariant(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    // Nombre de archivo de esta versión, o vacío si el original no se guardó por hash
+    public Optional<String> fileName(String originalFileName) {
+        Matcher matcher = ORIGINAL.matcher(originalFileName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String extension = matcher.group(2) != null ? matcher.group(2) : "";
+        return Optional.of(matcher.group(1) + "-" + suffix + extension);
+    }
+
+    // Ruta pública de esta versión a partir de ProductDTO.imagePath, o null si no tiene
+    public String path(String imagePath) {
+        if (imagePath == null || !imagePath.startsWith(LocalImageStorage.URL_PREFIX)) {
+            return null;
+        }
+        return fileName(imagePath.substring(LocalImageStorage.URL_PREFIX.length()))
+                .map(fileName -> LocalImageStorage.URL_PREFIX + fileName)
+                .orElse(null);
+    }
+
+    // Original guardado por hash (ni temporal de subida ni versión reducida)
+    public static boolean isOriginal(String fileName) {
+        return ORIGINAL.matcher(fileName).matches();
+    }
+
+    // Nombre del original del que sale una versión ("<hash>-thumb.png" -> "<hash>.png")
+    public static Optional<String> originalFileName(String derivativeFileName) {
+        Matcher matcher = DERIVATIVE.matcher(derivativeFileName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(matcher.group(1) + (matcher.group(2) != null ? matcher.group(2) : ""));
+    }
+}
@@ -0,0 +1,225 @@
+package com.neutron.inventory_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Imágenes en un directorio local ({@code inventory.images.directory}), servidas por ImageController
+ * bajo {@code /images/}.
+ * <p>
+ * La subida se copia por bloques a un archivo temporal del mismo directorio mientras se calcula su
+ * SHA-256, sin cargarla entera en memoria; después se renombra a {@code <sha256>.<extensión>}. Si ese
+ * archivo ya existe, la imagen es un duplicado y el temporal se descarta. Las versiones reducidas
+ * (ImageVariant) se generan después en segundo plano, junto al original.
+ * <p>
+ * La fecha de modificación de cada original marca su último uso: reutilizar un duplicado la
+ * actualiza. Ese paso y el borrado del barrido se hacen bajo el mismo bloqueo por nombre de archivo,
+ * así que una subida nunca devuelve la ruta de un archivo que el barrido está a punto de borrar.
+ */
+@Slf4j
+@Component
+public class LocalImageStorage implements ImageStorage {
+
+    public static final String URL_PREFIX = "/images/";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final Executor executor;
+    private final ImageDerivatives derivatives;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LocalImageStorage(@Value("${inventory.images.directory:/app/images}") Path directory,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             ImageDerivatives derivatives) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.executor = executor;
+        this.derivatives = derivatives;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public CompletableFuture<StoredImage> store(MultipartFile image) {
+        String extension = extension(image.getOriginalFilename());
+        CompletableFuture<StoredImage> stored = CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(image, extension);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+        // Las versiones reducidas se generan aparte, sin retrasar la respuesta (solo faltan si la imagen es nueva
+        // o si un intento anterior falló)
+        stored.thenAcceptAsync(storedImage -> find(fileName(storedImage.path())).ifPresent(derivatives::generate), executor);
+        return stored;
+    }
+
+    // Archivo de una imagen guardada en el directorio, o vacío si no existe o el nombre sale del directorio
+    public Optional<Path> find(String fileName) {
+        Path file = directory.resolve(fileName).normalize();
+        if (!directory.equals(file.getParent()) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private StoredImage write(MultipartFile image, String extension) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (ReadableByteChannel in = Channels.newChannel(image.getInputStream());
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String fileName = HexFormat.of().formatHex(digest.digest()) + extension;
+            Path target = directory.resolve(fileName);
+            synchronized (lock(fileName)) {
+                if (Files.exists(target)) {
+                    touch(target);
+                    return new StoredImage(URL_PREFIX + fileName, false);
+                }
+                try {
+                    Files.move(temp, target);
+                    return new StoredImage(URL_PREFIX + fileName, true);
+                } catch (FileAlreadyExistsException e) {
+                    // Otra instancia con el mismo directorio guardó la misma imagen a la vez
+                    touch(target);
+                    return new StoredImage(URL_PREFIX + fileName, false);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void delete(String path) {
+        if (path == null || !path.startsWith(URL_PREFIX)) {
+            return;
+        }
+        String fileName = fileName(path);
+        find(fileName).ifPresent(LocalImageStorage::deleteFile);
+        for (ImageVariant variant : ImageVariant.values()) {
+            variant.fileName(fileName).flatMap(this::find).ifPresent(LocalImageStorage::deleteFile);
+        }
+    }
+
+    @Override
+    public List<String> findUnusedSince(Instant since) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> ImageVariant.isOriginal(file.getFileName().toString()) && lastModified(file).isBefore(since))
+                    .map(file -> URL_PREFIX + file.getFileName())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnusedSince(String path, Instant since) {
+        if (path == null || !path.startsWith(URL_PREFIX)) {
+            return false;
+        }
+        String fileName = fileName(path);
+        synchronized (lock(fileName)) {
+            Optional<Path> file = find(fileName);
+            if (file.isEmpty() || !lastModified(file.get()).isBefore(since)) {
+                return false;
+            }
+            delete(path);
+            return true;
+        }
+    }
+
+    // Una subida reutiliza el archivo: deja de ser candidato al barrido durante el tiempo de gracia
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            // Borrado mientras se listaba: no es candidato
+            return Instant.MAX;
+        }
+    }
+
+    private Object lock(String fileName) {
+        return locks[Math.floorMod(fileName.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la imagen {}", file, e);
+        }
+    }
+
+    private static String fileName(String path) {
+        return path.substring(URL_PREFIX.length());
+    }
+
+    // Extensión del nombre original en minúsculas (".png"), o ninguna si no parece una extensión
+    private static String extension(String originalFilename) {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        if (extension == null) {
+            return "";
+        }
+        extension = extension.toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
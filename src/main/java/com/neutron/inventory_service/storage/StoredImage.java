@@ -0,0 +1,5 @@
+package com.neutron.inventory_service.storage;
+
+// Ruta pública de la imagen y si esta subida creó el archivo (false si ya existía una imagen idéntica)
+public record StoredImage(String path, boolean created) {
+}
@@ -0,0 +1,53 @@
+-- Esquema inicial para H2 (pruebas), equivalente al de db/migration/postgresql
+
+create sequence categories_seq start with 1 increment by 50;
+
+create sequence tags_seq start with 1 increment by 50;
+
+create table categories (
+    id bigint not null,
+    name varchar(255) not null,
+    constraint pk_categories primary key (id),
+    constraint uk_categories_name unique (name)
+);
+
+create table tags (
+    id bigint not null,
+    name varchar(255) not null,
+    constraint pk_tags primary key (id),
+    constraint uk_tags_name unique (name)
+);
+
+create table products (
+    id bigint generated by default as identity,
+    name varchar(255),
+    description text,
+    sku varchar(255),
+    stock integer not null,
+    brand varchar(255),
+    price integer,
+    weight float(53) not null,
+    dimensions varchar(255),
+    status varchar(255),
+    image_path varchar(255),
+    average_rating float(53) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_products primary key (id)
+);
+
+create table product_category (
+    product_id bigint not null,
+    category_id bigint not null,
+    constraint pk_product_category primary key (category_id, product_id),
+    constraint fk_product_category_product foreign key (product_id) references products,
+    constraint fk_product_category_category foreign key (category_id) references categories
+);
+
+create table product_tags (
+    product_id bigint not null,
+    tag_id bigint not null,
+    constraint pk_product_tags primary key (product_id, tag_id),
+    constraint fk_product_tags_product foreign key (product_id) references products,
+    constraint fk_product_tags_tag foreign key (tag_id) references tags
+);
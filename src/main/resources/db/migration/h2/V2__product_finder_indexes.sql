@@ -0,0 +1,10 @@
+-- Mismos índices que en PostgreSQL; H2 no admite índices funcionales, así que usan la columna directamente
+
+alter table products add constraint uk_products_sku unique (sku);
+
+create index idx_products_price on products (price, id);
+create index idx_products_upper_brand_price on products (brand, price);
+create index idx_products_upper_status_price on products (status, price);
+
+create index idx_product_category_product on product_category (product_id, category_id);
+create index idx_product_tags_tag on product_tags (tag_id, product_id);
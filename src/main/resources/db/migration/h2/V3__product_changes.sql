@@ -0,0 +1,16 @@
+-- Feed de cambios (GET /api/products/changes): productos modificados por (updated_at, id) y
+-- productos borrados como tombstones por (deleted_at, product_id)
+
+-- Filas anteriores a @UpdateTimestamp sin fecha de modificación: sin ella no aparecerían en el feed
+update products set updated_at = coalesce(created_at, current_timestamp) where updated_at is null;
+
+create index idx_products_updated_at on products (updated_at, id);
+
+create table product_tombstones (
+    product_id bigint not null,
+    sku varchar(255),
+    deleted_at timestamp(6) not null,
+    constraint pk_product_tombstones primary key (product_id)
+);
+
+create index idx_product_tombstones_deleted_at on product_tombstones (deleted_at, product_id);
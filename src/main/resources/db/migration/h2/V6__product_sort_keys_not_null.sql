@@ -0,0 +1,6 @@
+-- Nombre y precio obligatorios (ver la migración de PostgreSQL). Sin bloques procedurales en H2, un
+-- producto sin precio hace fallar el "set not null" en lugar de recibir un precio inventado
+update products set name = coalesce(sku, 'Producto ' || id) where name is null;
+
+alter table products alter column name set not null;
+alter table products alter column price set not null;
@@ -0,0 +1,10 @@
+-- Outbox de eventos de stock y de producto (ver la migración de PostgreSQL)
+create table if not exists outbox_events (
+    id bigint generated by default as identity,
+    exchange varchar(255) not null,
+    routing_key varchar(255) not null,
+    aggregate_id bigint,
+    payload text not null,
+    created_at timestamp(6),
+    constraint pk_outbox_events primary key (id)
+);
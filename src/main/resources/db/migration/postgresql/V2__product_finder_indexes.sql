@@ -0,0 +1,40 @@
+-- Índices para los métodos de ProductRepository y la búsqueda de productos.
+-- Los métodos IgnoreCase comparan upper(columna), por eso los índices funcionales usan upper().
+
+-- Las bases creadas antes con ddl-auto=update pueden tener SKUs repetidos. En ese caso la migración
+-- se detiene (sin cambios, la transacción se deshace) y lista los SKUs que hay que resolver a mano (ver README)
+do $$
+declare
+    duplicated text;
+begin
+    select string_agg(sku, ', ' order by sku) into duplicated
+    from (select sku from products where sku is not null group by sku having count(*) > 1 order by sku limit 20) d;
+    if duplicated is not null then
+        raise exception 'SKUs duplicados en products: %. Resuélvelos antes de crear uk_products_sku', duplicated;
+    end if;
+end $$;
+
+-- findBySku, existsBySku y findExistingSkus; además impide SKUs duplicados
+alter table products add constraint uk_products_sku unique (sku);
+
+-- Orden y rangos por precio (el id desempata el orden de la paginación por cursor)
+create index if not exists idx_products_price on products (price, id);
+
+-- findByBrandInIgnoreCase y el filtro de marcas de /search, ordenados por precio
+create index idx_products_upper_brand_price on products (upper(brand), price);
+
+-- Filtro de estado de /search
+create index idx_products_upper_status_price on products (upper(status), price);
+
+-- findByCategories_NameInIgnoreCase, filtro de etiquetas y resolución de nombres
+create index idx_categories_upper_name on categories (upper(name));
+create index idx_tags_upper_name on tags (upper(name));
+
+-- La clave primaria de cada tabla intermedia cubre un sentido; estos índices cubren el otro
+create index idx_product_category_product on product_category (product_id, category_id);
+create index if not exists idx_product_tags_tag on product_tags (tag_id, product_id);
+
+-- Índices creados antes por ddl-auto=update que quedan sustituidos por los anteriores
+drop index if exists idx_products_brand_price;
+drop index if exists idx_products_status_price;
+drop index if exists idx_product_category_category;
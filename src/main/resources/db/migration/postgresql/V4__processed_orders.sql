@@ -0,0 +1,9 @@
+-- Pedidos de order.placed ya aplicados: una redelivery del mismo pedido no vuelve a descontar stock
+create table processed_orders (
+    order_id varchar(100) not null,
+    reserved boolean not null,
+    processed_at timestamp(6) not null,
+    constraint pk_processed_orders primary key (order_id)
+);
+
+create index idx_processed_orders_processed_at on processed_orders (processed_at);
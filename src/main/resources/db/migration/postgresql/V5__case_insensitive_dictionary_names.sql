@@ -0,0 +1,38 @@
+-- Nombres de categorías y etiquetas únicos sin distinguir mayúsculas: la caché de nombres los busca con
+-- upper(name), y con la clave sensible a mayúsculas dos altas a la vez de "Audio" y "audio" se aceptaban
+
+-- Juntar los duplicados que solo difieren en mayúsculas (quedan con el de menor id) antes de crear el índice
+insert into product_category (product_id, category_id)
+select distinct pc.product_id, d.keep_id
+from product_category pc
+join (select c.id, (select min(c2.id) from categories c2 where upper(c2.name) = upper(c.name)) as keep_id
+      from categories c) d on d.id = pc.category_id
+where d.id <> d.keep_id
+  and not exists (select 1 from product_category x where x.product_id = pc.product_id and x.category_id = d.keep_id);
+
+delete from product_category
+where category_id in (select c.id from categories c
+                       where exists (select 1 from categories c2 where upper(c2.name) = upper(c.name) and c2.id < c.id));
+
+delete from categories c
+where exists (select 1 from categories c2 where upper(c2.name) = upper(c.name) and c2.id < c.id);
+
+insert into product_tags (product_id, tag_id)
+select distinct pc.product_id, d.keep_id
+from product_tags pc
+join (select c.id, (select min(c2.id) from tags c2 where upper(c2.name) = upper(c.name)) as keep_id
+      from tags c) d on d.id = pc.tag_id
+where d.id <> d.keep_id
+  and not exists (select 1 from product_tags x where x.product_id = pc.product_id and x.tag_id = d.keep_id);
+
+delete from product_tags
+where tag_id in (select c.id from tags c
+                       where exists (select 1 from tags c2 where upper(c2.name) = upper(c.name) and c2.id < c.id));
+
+delete from tags c
+where exists (select 1 from tags c2 where upper(c2.name) = upper(c.name) and c2.id < c.id);
+
+drop index idx_categories_upper_name;
+drop index idx_tags_upper_name;
+create unique index uk_categories_upper_name on categories (upper(name));
+create unique index uk_tags_upper_name on tags (upper(name));
@@ -0,0 +1,22 @@
+-- Nombre y precio son claves de orden de los listados por cursor: un valor nulo no tiene posición
+-- en el keyset y el cursor no podría continuar desde él. La API ya los exige al crear productos.
+
+-- Un precio que falta no se puede inventar (a 0 el producto se vendería gratis y encabezaría los
+-- listados por precio). Si hay productos sin precio la migración se detiene (sin cambios, la
+-- transacción se deshace) y lista sus ids para corregirlos a mano (ver README)
+do $$
+declare
+    missing text;
+begin
+    select string_agg(id::text, ', ' order by id) into missing
+    from (select id from products where price is null order by id limit 20) p;
+    if missing is not null then
+        raise exception 'Productos sin precio: %. Asígnales un precio antes de hacer price obligatorio', missing;
+    end if;
+end $$;
+
+-- Las filas antiguas sin nombre toman el SKU
+update products set name = coalesce(sku, 'Producto ' || id) where name is null;
+
+alter table products alter column name set not null;
+alter table products alter column price set not null;
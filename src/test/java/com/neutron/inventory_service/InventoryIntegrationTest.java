@@ -0,0 +1,55 @@
+package com.neutron.inventory_service;
+
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import com.neutron.inventory_service.repository.ProcessedOrderRepository;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.repository.ProductTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base de los tests de integración que trabajan con productos y stock: arranca la aplicación con el
+ * perfil de test y el broker simulado, crea los productos de prueba y deja la base vacía después de
+ * cada test (productos, outbox, pedidos procesados y tombstones).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class InventoryIntegrationTest {
+
+    @Autowired
+    protected ProductRepository productRepository;
+
+    @Autowired
+    protected OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    protected ProcessedOrderRepository processedOrderRepository;
+
+    @Autowired
+    protected ProductTombstoneRepository productTombstoneRepository;
+
+    @MockBean
+    protected RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void deleteTestData() {
+        outboxEventRepository.deleteAll();
+        processedOrderRepository.deleteAll();
+        productRepository.deleteAll();
+        productTombstoneRepository.deleteAll();
+    }
+
+    protected Product createProduct(String sku, int stock) {
+        return productRepository.save(Product.builder()
+                .name("Producto de prueba")
+                .sku(sku)
+                .price(100)
+                .stock(stock)
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package com.neutron.inventory_service;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Arranca la aplicación sobre una base con el esquema que dejaba ddl-auto=update antes de Flyway:
+ * se marca como versión 1, aplica las migraciones siguientes y Hibernate valida el resultado.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaBaselineMigrationTest {
+
+    private static final String DATABASE_NAME = "inventory_db_baseline_" + UUID.randomUUID();
+
+    @DynamicPropertySource
+    static void preSeriesDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        createPreSeriesSchema(DATABASE_NAME, "100");
+        registry.add("inventory.test.database-name", () -> DATABASE_NAME);
+    }
+
+    // Esquema de ddl-auto=update con un producto antiguo sin nombre y con el precio indicado
+    private static String createPreSeriesSchema(String databaseName, String legacyPrice) throws SQLException {
+        String url = "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create sequence categories_seq start with 1 increment by 50");
+            statement.execute("create sequence tags_seq start with 1 increment by 50");
+            statement.execute("create table categories (id bigint not null, name varchar(255) not null unique, "
+                    + "primary key (id))");
+            statement.execute("create table tags (id bigint not null, name varchar(255) not null unique, "
+                    + "primary key (id))");
+            statement.execute("create table products (id bigint generated by default as identity, name varchar(255), "
+                    + "description text, sku varchar(255), stock integer not null, brand varchar(255), price integer, "
+                    + "weight float(53) not null, dimensions varchar(255), status varchar(255), image_path varchar(255), "
+                    + "average_rating float(53) not null, created_at timestamp(6), updated_at timestamp(6), "
+                    + "primary key (id))");
+            statement.execute("create table product_category (product_id bigint not null, category_id bigint not null, "
+                    + "primary key (category_id, product_id), foreign key (product_id) references products, "
+                    + "foreign key (category_id) references categories)");
+            statement.execute("create table product_tags (product_id bigint not null, tag_id bigint not null, "
+                    + "primary key (product_id, tag_id), foreign key (product_id) references products, "
+                    + "foreign key (tag_id) references tags)");
+            statement.execute("insert into products (sku, price, stock, weight, average_rating) values ('SKU-LEGADO', "
+                    + legacyPrice + ", 3, 1, 0)");
+        }
+        return url;
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void baselinesPreSeriesSchemaAndAppliesLaterMigrations() {
+        MigrationInfo baseline = flyway.info().applied()[0];
+        assertThat(baseline.getType().isBaseline()).isTrue();
+        assertThat(baseline.getVersion().getVersion()).isEqualTo("1");
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("7");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_events", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select name from products where sku = 'SKU-LEGADO'", String.class))
+                .isEqualTo("SKU-LEGADO");
+    }
+
+    @Test
+    void stopsAtV6InsteadOfInventingAPriceForLegacyProducts() throws SQLException {
+        String url = createPreSeriesSchema("inventory_db_baseline_" + UUID.randomUUID(), "null");
+        Flyway legacy = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .load();
+
+        assertThatThrownBy(legacy::migrate).isInstanceOf(FlywayException.class).hasMessageContaining("V6");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet price = statement.executeQuery("select price from products where sku = 'SKU-LEGADO'")) {
+            assertThat(price.next()).isTrue();
+            assertThat(price.getObject(1)).isNull();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.neutron.inventory_service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Fija un nombre de base de datos H2 por contexto de Spring para que JDBC y R2DBC abran la misma
+// base en memoria (${random.uuid} daría un valor distinto en cada URL)
+public class TestDatabaseNameEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        environment.getPropertySources().addLast(new MapPropertySource("testDatabaseName",
+                Map.of("inventory.test.database-name", "inventory_db_" + UUID.randomUUID())));
+    }
+}
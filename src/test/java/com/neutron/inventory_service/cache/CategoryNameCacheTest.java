@@ -0,0 +1,125 @@
+package com.neutron.inventory_service.cache;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class CategoryNameCacheTest {
+
+    @Autowired
+    private CategoryNameCache categoryNameCache;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        categoryNameCache.invalidateAll();
+    }
+
+    @Test
+    void resolvesMissingNamesWithOneQueryAndOneBatchedInsert() {
+        categoryRepository.save(Category.builder().name("Audio").build());
+
+        statistics.clear();
+        Map<String, Category> resolved = categoryNameCache.resolveAll(List.of("audio", " Celulares ", "CELULARES", "Hogar"));
+
+        assertThat(resolved).containsOnlyKeys("audio", "celulares", "hogar");
+        assertThat(resolved.get("audio").getName()).isEqualTo("Audio");
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        // IN (...), siguiente valor de la secuencia y un solo lote de INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+
+        // Ya en caché: ninguna sentencia
+        statistics.clear();
+        categoryNameCache.resolveAll(List.of("AUDIO", "celulares", "hogar"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void databaseRejectsNamesThatOnlyDifferInCase() {
+        categoryRepository.save(Category.builder().name("Audio").build());
+
+        assertThatThrownBy(() -> categoryRepository.save(Category.builder().name("audio").build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void rereadsNamesCreatedConcurrentlyInsteadOfFailing() {
+        // La primera búsqueda no ve el nombre, como si otra petición lo creara justo después
+        AtomicBoolean firstLookup = new AtomicBoolean(true);
+        CategoryNameCache racingCache = new CategoryNameCache(categoryRepository, transactionManager,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)) {
+            @Override
+            protected List<Category> findAllByNames(Collection<String> names) {
+                if (firstLookup.getAndSet(false)) {
+                    categoryRepository.save(Category.builder().name("AUDIO").build());
+                    return List.of();
+                }
+                return super.findAllByNames(names);
+            }
+        };
+
+        Map<String, Category> resolved = racingCache.resolveAll(List.of("audio", "hogar"));
+
+        assertThat(resolved.get("audio").getName()).isEqualTo("AUDIO");
+        assertThat(resolved.get("hogar").getId()).isNotNull();
+        assertThat(categoryRepository.findAll()).extracting(Category::getName).containsExactlyInAnyOrder("AUDIO", "hogar");
+    }
+
+    @Test
+    void renamingOrDeletingACategoryInvalidatesTheCache() {
+        Category audio = categoryNameCache.resolve(List.of("audio")).iterator().next();
+
+        audio.setName("sonido");
+        categoryRepository.save(audio);
+        Category recreated = categoryNameCache.resolve(List.of("audio")).iterator().next();
+        assertThat(recreated.getId()).isNotEqualTo(audio.getId());
+
+        categoryRepository.delete(recreated);
+        assertThat(categoryNameCache.resolve(List.of("audio")).iterator().next().getId())
+                .isNotEqualTo(recreated.getId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.neutron.inventory_service.cache;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductDtoCacheTest {
+
+    private final ProductDtoCache cache = new ProductDtoCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void aLoadThatRacesAnInvalidationIsNotKept() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+
+        // La carga lee el stock 10 y se detiene antes de guardarlo; mientras, una escritura hace commit e invalida
+        CompletableFuture<ProductDTO> staleRead = CompletableFuture.supplyAsync(() -> cache.getById(1L, id -> {
+            loaded.countDown();
+            await(evicted);
+            return product(id, 10);
+        }));
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evictAfterCommit(1L, "SKU-1");
+        evicted.countDown();
+
+        assertThat(staleRead.get(5, TimeUnit.SECONDS).getStock()).isEqualTo(10);
+        assertThat(cache.getById(1L, id -> product(id, 7)).getStock()).isEqualTo(7);
+        assertThat(cache.getById(1L, id -> product(id, 0)).getStock()).isEqualTo(7);
+    }
+
+    @Test
+    void aSkuLookupThatRacesAnInvalidationIsNotKept() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        AtomicInteger productLoads = new AtomicInteger();
+
+        // El SKU pasa del producto 1 al 2 mientras se resolvía: la traducción vieja no debe quedarse
+        CompletableFuture<ProductDTO> staleRead = CompletableFuture.supplyAsync(() -> cache.getBySku("SKU-1", sku -> {
+            loaded.countDown();
+            await(evicted);
+            return 1L;
+        }, id -> product(id, productLoads.incrementAndGet())));
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evictAfterCommit(1L, "SKU-1");
+        evicted.countDown();
+
+        assertThat(staleRead.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThat(cache.getBySku("SKU-1", sku -> 2L, id -> product(id, 5)).getId()).isEqualTo(2L);
+    }
+
+    private static ProductDTO product(Long id, int stock) {
+        return ProductDTO.builder().id(id).sku("SKU-" + id).stock(stock).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.neutron.inventory_service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockLevelIndexTest {
+
+    @Test
+    void behavesLikeAMapUnderRandomPutsAndRemoves() {
+        StockLevelIndex index = new StockLevelIndex(Duration.ofMinutes(1), 10_000);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long productId = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                index.remove(productId);
+                expected.remove(productId);
+            } else {
+                int stock = random.nextInt(100);
+                index.put(productId, stock);
+                expected.put(productId, stock);
+            }
+        }
+
+        for (long productId = 1; productId <= 3_000; productId++) {
+            assertThat(index.get(productId)).isEqualTo(expected.getOrDefault(productId, StockLevelIndex.MISSING));
+        }
+        assertThat(index.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void expiredEntriesAreReportedAsMissing() throws InterruptedException {
+        StockLevelIndex index = new StockLevelIndex(Duration.ofMillis(20), 10);
+        index.put(1L, 7);
+        assertThat(index.get(1L)).isEqualTo(7);
+
+        Thread.sleep(50);
+        assertThat(index.get(1L)).isEqualTo(StockLevelIndex.MISSING);
+    }
+
+    @Test
+    void clearsItselfWhenFull() {
+        StockLevelIndex index = new StockLevelIndex(Duration.ofMinutes(1), 100);
+        for (long productId = 1; productId <= 101; productId++) {
+            index.put(productId, 1);
+        }
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(101L)).isEqualTo(1);
+    }
+}
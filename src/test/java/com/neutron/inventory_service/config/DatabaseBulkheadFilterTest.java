@@ -0,0 +1,49 @@
+package com.neutron.inventory_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseBulkheadFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DatabaseBulkheadFilter filter = new DatabaseBulkheadFilter(meterRegistry, 1, Duration.ZERO);
+
+    @Test
+    void releasesThePermitWhenTheRequestEnds() throws Exception {
+        filter.doFilter(apiRequest(), new MockHttpServletResponse(), (request, response) -> { });
+
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void streamingResponsesKeepThePermitUntilTheAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest export = apiRequest();
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(availablePermits()).isZero();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest(), rejected, (request, response) -> { });
+        assertThat(rejected.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    private double availablePermits() {
+        return meterRegistry.get("inventory.bulkhead.available").gauge().value();
+    }
+
+    private static MockHttpServletRequest apiRequest() {
+        return new MockHttpServletRequest("GET", "/api/products");
+    }
+}
@@ -0,0 +1,44 @@
+package com.neutron.inventory_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class R2dbcUrlEnvironmentPostProcessorTest {
+
+    private final R2dbcUrlEnvironmentPostProcessor postProcessor = new R2dbcUrlEnvironmentPostProcessor();
+
+    @Test
+    void derivesTheR2dbcUrlFromThePostgresDataSource() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.url", "")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://db:5432/inventario_db");
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        assertThat(environment.getProperty("spring.r2dbc.url")).isEqualTo("r2dbc:postgresql://db:5432/inventario_db");
+    }
+
+    @Test
+    void keepsAnExplicitR2dbcUrl() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.url", "r2dbc:postgresql://replica:5432/inventario_db")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://db:5432/inventario_db");
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        assertThat(environment.getProperty("spring.r2dbc.url")).isEqualTo("r2dbc:postgresql://replica:5432/inventario_db");
+    }
+
+    @Test
+    void leavesTheUrlEmptyWhenTheDataSourceIsNotConfigured() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.r2dbc.url", "")
+                .withProperty("spring.datasource.url", "${SPRING_DATASOURCE_URL}");
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        assertThat(environment.getProperty("spring.r2dbc.url")).isEmpty();
+    }
+}
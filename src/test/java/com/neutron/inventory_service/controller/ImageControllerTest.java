@@ -0,0 +1,87 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.storage.ImageDerivatives;
+import com.neutron.inventory_service.storage.LocalImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path directory;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directory.resolve(HASH + ".png"), "0123456789");
+        LocalImageStorage storage = new LocalImageStorage(directory, Runnable::run, new ImageDerivatives());
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(storage)).build();
+    }
+
+    @Test
+    void servesImmutableImageWithStrongEtag() throws Exception {
+        String etag = "\"" + HASH + ".png\"";
+        mockMvc.perform(get("/images/" + HASH + ".png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(content().string("0123456789"));
+
+        mockMvc.perform(get("/images/" + HASH + ".png").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        mockMvc.perform(get("/images/" + HASH + ".png").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+
+        mockMvc.perform(get("/images/" + HASH + ".png").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+
+        mockMvc.perform(get("/images/" + HASH + ".png").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        // If-Range con un ETag que no coincide: archivo completo
+        mockMvc.perform(get("/images/" + HASH + ".png")
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"otro\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void missingVariantFallsBackToUncachedOriginal() throws Exception {
+        mockMvc.perform(get("/images/" + HASH + "-thumb.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string("0123456789"));
+
+        mockMvc.perform(get("/images/" + "b".repeat(64) + "-thumb.png"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/images/..%2Fsecreto.txt"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,84 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.dto.StockReservationLineDTO;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Las lecturas por id y por SKU pasan por ProductDtoCache; ningún cambio de stock puede dejar un valor viejo
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void cachedReadsShowTheStockLeftByReductionsAndReservations() throws Exception {
+        Long id = productRepository.save(Product.builder()
+                .name("Producto en caché")
+                .sku("SKU-CACHE-1")
+                .price(100)
+                .stock(20)
+                .categories(Set.of())
+                .tags(Set.of())
+                .build()).getId();
+
+        // Primera lectura por cada ruta: deja el DTO y la traducción del SKU en caché
+        expectStock(id, 20);
+
+        stockService.reduceStock(id, 3);
+        expectStock(id, 17);
+
+        stockService.reserveStock(List.of(new StockReservationLineDTO(id, 5), new StockReservationLineDTO(id, 2)));
+        expectStock(id, 10);
+
+        stockService.increaseStock(id, 4);
+        expectStock(id, 14);
+    }
+
+    private void expectStock(Long id, int stock) throws Exception {
+        mockMvc.perform(get("/api/products/id/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(stock));
+        mockMvc.perform(get("/api/products/sku/SKU-CACHE-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(stock));
+    }
+}
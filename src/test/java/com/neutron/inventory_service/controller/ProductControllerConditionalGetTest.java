@@ -0,0 +1,113 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.OutboxEventRepository;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.service.StockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private StockService stockService;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void productReadsAnswerNotModifiedUntilTheProductChanges() throws Exception {
+        Long id = productRepository.save(product("SKU-1", 100)).getId();
+
+        String etag = mockMvc.perform(get("/api/products/id/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"" + id + "-");
+
+        mockMvc.perform(get("/api/products/id/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/products/sku/SKU-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Cualquier escritura actualiza updatedAt, también las de stock
+        Thread.sleep(5);
+        stockService.reduceStock(id, 1);
+
+        mockMvc.perform(get("/api/products/id/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void listingsChangeEtagWhenThePageChanges() throws Exception {
+        productRepository.save(product("SKU-1", 100));
+        productRepository.save(product("SKU-2", 200));
+
+        String etag = mockMvc.perform(get("/api/products/sorted/asc"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        mockMvc.perform(get("/api/products/sorted/asc").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/products/sorted/asc").param("cursor", "").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        productRepository.save(product("SKU-3", 50));
+
+        mockMvc.perform(get("/api/products/sorted/asc").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        // Sin ETag no hay validación posible: If-Modified-Since solo no da un 304
+        mockMvc.perform(get("/api/products/sorted/asc").header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 31 Dec 2999 23:59:59 GMT"))
+                .andExpect(status().isOk());
+    }
+
+    private static Product product(String sku, int price) {
+        return Product.builder()
+                .name("Producto " + sku)
+                .sku(sku)
+                .price(price)
+                .stock(10)
+                .categories(Set.of())
+                .tags(Set.of())
+                .build();
+    }
+}
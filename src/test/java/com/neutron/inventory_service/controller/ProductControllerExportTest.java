@@ -0,0 +1,102 @@
+package com.neutron.inventory_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import com.neutron.inventory_service.repository.CategoryRepository;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Bloques de 2 productos para que la exportación cruce varios límites de bloque
+@SpringBootTest(properties = "inventory.export.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerExportTest {
+
+    private static final int PRODUCTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    void exportsTheWholeCatalogAsNdjsonAcrossChunks() throws Exception {
+        Category phones = categoryRepository.save(Category.builder().name("celulares").build());
+        Tag sale = tagRepository.save(Tag.builder().name("oferta").build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add(productRepository.save(Product.builder()
+                    .name("Producto " + i)
+                    .sku("SKU-EXPORT-" + i)
+                    .price(100 + i)
+                    .stock(i)
+                    .categories(Set.of(phones))
+                    .tags(i % 2 == 0 ? Set.of(sale) : Set.of())
+                    .build()).getId());
+        }
+
+        MvcResult started = mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<ProductDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, ProductDTO.class));
+        }
+
+        // Cada producto una vez y en orden de id, sin huecos ni repeticiones entre bloques
+        assertThat(exported).extracting(ProductDTO::getId).containsExactlyElementsOf(ids);
+        assertThat(exported).allSatisfy(dto -> assertThat(dto.getCategoryNames()).containsExactly("celulares"));
+        assertThat(exported).extracting(dto -> dto.getTagNames().size()).containsExactly(1, 0, 1, 0, 1);
+    }
+}
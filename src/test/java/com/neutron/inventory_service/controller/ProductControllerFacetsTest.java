@@ -0,0 +1,76 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerFacetsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void brandsAndStatusesAreCountedIgnoringCaseLikeTheirFilters() throws Exception {
+        productRepository.save(product("SKU-FACET-1", "Samsung", "Disponible", 100));
+        productRepository.save(product("SKU-FACET-2", "SAMSUNG", "DISPONIBLE", 200));
+        productRepository.save(product("SKU-FACET-3", "Xiaomi", "disponible", 300));
+
+        mockMvc.perform(get("/api/products/search/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brands.length()").value(2))
+                .andExpect(jsonPath("$.brands.Xiaomi").value(1))
+                .andExpect(jsonPath("$.statuses.length()").value(1))
+                .andExpect(jsonPath("$.statuses.*").value(contains(3)));
+        mockMvc.perform(get("/api/products/search/facets").param("brands", "samsung"))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void emptyPriceBoundariesFallBackToTheConfiguredOnes() throws Exception {
+        productRepository.save(product("SKU-FACET-4", "Sony", "Disponible", 2000));
+
+        mockMvc.perform(get("/api/products/search/facets").param("priceBoundaries", ","))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceRanges.length()").value(5))
+                .andExpect(jsonPath("$.priceRanges[1].min").value(1000))
+                .andExpect(jsonPath("$.priceRanges[1].count").value(1));
+    }
+
+    private static Product product(String sku, String brand, String status, int price) {
+        return Product.builder()
+                .name("Producto " + sku)
+                .sku(sku)
+                .brand(brand)
+                .status(status)
+                .price(price)
+                .stock(10)
+                .build();
+    }
+}
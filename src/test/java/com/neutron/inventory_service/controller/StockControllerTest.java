@@ -0,0 +1,128 @@
+package com.neutron.inventory_service.controller;
+
+import com.neutron.inventory_service.InventoryIntegrationTest;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class StockControllerTest extends InventoryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void reservationWithAShortLineChangesNothingAndReportsEachLine() throws Exception {
+        Long phone = createProduct("SKU-RESERVE-1", 12).getId();
+        Long cover = createProduct("SKU-RESERVE-2", 3).getId();
+
+        mockMvc.perform(reserve(line(phone, 5) + "," + line(cover, 5) + "," + line(-1L, 1)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.reserved").value(false))
+                .andExpect(jsonPath("$.lines.length()").value(3))
+                .andExpect(jsonPath("$.lines[?(@.productId == " + phone + ")].sufficient").value(true))
+                .andExpect(jsonPath("$.lines[?(@.productId == " + phone + ")].available").value(12))
+                .andExpect(jsonPath("$.lines[?(@.productId == " + cover + ")].sufficient").value(false))
+                .andExpect(jsonPath("$.lines[?(@.productId == " + cover + ")].available").value(3))
+                .andExpect(jsonPath("$.lines[?(@.productId == -1)].found").value(false));
+
+        assertThat(stockOf(phone)).isEqualTo(12);
+        assertThat(stockOf(cover)).isEqualTo(3);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void duplicateLinesAreMergedAndEachCrossingProductNotifiesOnce() throws Exception {
+        Long phone = createProduct("SKU-RESERVE-3", 12).getId();
+        Long cover = createProduct("SKU-RESERVE-4", 3).getId();
+
+        mockMvc.perform(reserve(line(phone, 2) + "," + line(phone, 1) + "," + line(cover, 3)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reserved").value(true))
+                .andExpect(jsonPath("$.lines.length()").value(2))
+                .andExpect(jsonPath("$.lines[?(@.productId == " + phone + ")].requested").value(3));
+
+        assertThat(stockOf(phone)).isEqualTo(9);
+        assertThat(stockOf(cover)).isZero();
+
+        // Solo el primero cruza el umbral (12 -> 9); el segundo ya estaba por debajo
+        List<OutboxEvent> lowStock = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getRoutingKey().equals(RabbitMQConfig.STOCK_LOW_ROUTING_KEY))
+                .toList();
+        assertThat(lowStock).extracting(OutboxEvent::getAggregateId).containsExactly(phone);
+
+        // Un cambio de stock por producto, con el neto de las líneas
+        List<OutboxEvent> stockChanged = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getRoutingKey().equals(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY))
+                .toList();
+        assertThat(stockChanged).hasSize(2).anySatisfy(event -> {
+            assertThat(event.getAggregateId()).isEqualTo(phone);
+            assertThat(event.getPayload()).contains("\"stock\":9", "\"previousStock\":12");
+        });
+    }
+
+    @Test
+    void availabilityRejectsMissingOrNegativeQuantities() throws Exception {
+        Long phone = createProduct("SKU-AVAILABILITY-1", 5).getId();
+
+        mockMvc.perform(availability("{\"" + phone + "\": 5, \"-1\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available['" + phone + "']").value(true))
+                .andExpect(jsonPath("$.notFoundIds[0]").value(-1));
+        mockMvc.perform(availability("{\"" + phone + "\": null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(availability("{\"" + phone + "\": -2}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reduceAndIncreaseRejectZeroOrNegativeQuantities() throws Exception {
+        Long phone = createProduct("SKU-QUANTITY-1", 12).getId();
+
+        mockMvc.perform(stockChange("reduce", phone, -5)).andExpect(status().isBadRequest());
+        mockMvc.perform(stockChange("reduce", phone, 0)).andExpect(status().isBadRequest());
+        mockMvc.perform(stockChange("increase", phone, -5)).andExpect(status().isBadRequest());
+        mockMvc.perform(stockChange("increase", phone, 0)).andExpect(status().isBadRequest());
+
+        assertThat(stockOf(phone)).isEqualTo(12);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private static RequestBuilder stockChange(String operation, Long productId, int quantity) {
+        return post("/api/stock/" + operation + "/" + productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(quantity));
+    }
+
+    private static RequestBuilder availability(String quantities) {
+        return post("/api/stock/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(quantities);
+    }
+
+    private static RequestBuilder reserve(String lines) {
+        return post("/api/stock/reserve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lines\": [" + lines + "]}");
+    }
+
+    private static String line(Long productId, int quantity) {
+        return "{\"productId\": " + productId + ", \"quantity\": " + quantity + "}";
+    }
+
+    private int stockOf(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+}
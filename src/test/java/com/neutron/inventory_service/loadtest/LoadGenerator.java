@@ -0,0 +1,150 @@
+package com.neutron.inventory_service.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Generador de carga en bucle cerrado: {@code concurrency} hilos envían peticiones sin pausa,
+ * cada una elegida al azar según el peso de su endpoint, durante el calentamiento y la medición.
+ * <p>
+ * Solo se registran las peticiones que empiezan después del calentamiento. Cada endpoint
+ * clasifica sus respuestas: correcta, rechazada por una regla de negocio (p. ej. stock
+ * insuficiente, que la API devuelve con 200) o error.
+ */
+class LoadGenerator {
+
+    enum Outcome { OK, REJECTED, ERROR }
+
+    // Un tipo de petición de la mezcla
+    record Endpoint(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request,
+                    Function<HttpResponse<String>, Outcome> classifier) {
+    }
+
+    private final HttpClient httpClient;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    LoadGenerator(int concurrency, Duration warmup, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    LoadReport run(String scenario, String threading, List<Endpoint> endpoints) throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("La mezcla de peticiones no tiene ningún endpoint con peso");
+        }
+
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats()));
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long deadline = measureStart + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    Endpoint endpoint = pick(endpoints, random.nextInt(totalWeight));
+                    long start = System.nanoTime();
+                    Outcome outcome = send(endpoint, random);
+                    if (start >= measureStart) {
+                        stats.get(endpoint.name()).record(System.nanoTime() - start, outcome);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+
+        Map<String, LoadReport.EndpointResult> results = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> results.put(endpoint.name(), stats.get(endpoint.name()).summarize(duration)));
+        return new LoadReport(scenario, threading, concurrency, duration, results);
+    }
+
+    private Outcome send(Endpoint endpoint, ThreadLocalRandom random) {
+        try {
+            HttpResponse<String> response = httpClient.send(endpoint.request().apply(random),
+                    HttpResponse.BodyHandlers.ofString());
+            return endpoint.classifier().apply(response);
+        } catch (IOException e) {
+            return Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int ticket) {
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    // Latencias en nanosegundos de un endpoint; el array crece según se llena
+    static class EndpointStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long rejected;
+        private long errors;
+
+        synchronized void record(long latencyNanos, Outcome outcome) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (outcome == Outcome.REJECTED) {
+                rejected++;
+            } else if (outcome == Outcome.ERROR) {
+                errors++;
+            }
+        }
+
+        synchronized LoadReport.EndpointResult summarize(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new LoadReport.EndpointResult(
+                    count,
+                    count / (duration.toMillis() / 1000.0),
+                    count == 0 ? 0 : (double) errors / count,
+                    rejected,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+        }
+
+        // Percentil por rango más cercano, en milisegundos
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.neutron.inventory_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// Resultado de un escenario: latencias en milisegundos, throughput en peticiones por segundo.
+// threading indica si Tomcat atendió con hilos de plataforma o virtuales
+record LoadReport(String scenario, String threading, int concurrency, Duration duration,
+                  Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+
+    record EndpointResult(long requests, double throughput, double errorRate, long rejected,
+                          double p50, double p99, double p999, double max) {
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointResult::requests).sum();
+    }
+
+    double maxErrorRate() {
+        return endpoints.values().stream().mapToDouble(EndpointResult::errorRate).max().orElse(0);
+    }
+
+    String format() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%nEscenario %s (hilos %s): %d clientes, %d s, %d peticiones (%.1f req/s)%n",
+                scenario, threading, concurrency, duration.toSeconds(), totalRequests(),
+                totalRequests() / (duration.toMillis() / 1000.0)));
+        table.append(String.format(Locale.ROOT, "%-14s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "rejected", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        endpoints.forEach((name, result) -> table.append(String.format(Locale.ROOT,
+                "%-14s %9d %9.1f %7.2f%% %9d %9.2f %9.2f %9.2f %9.2f%n",
+                name, result.requests(), result.throughput(), result.errorRate() * 100, result.rejected(),
+                result.p50(), result.p99(), result.p999(), result.max())));
+        return table.toString();
+    }
+
+    // Throughput y p99 de este informe frente a otro del mismo escenario (p. ej. hilos virtuales frente a plataforma)
+    String formatComparison(LoadReport baseline) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%nEscenario %s: hilos %s frente a hilos %s%n", scenario, threading, baseline.threading()));
+        table.append(String.format(Locale.ROOT, "%-14s %11s %11s %8s %11s %11s%n",
+                "endpoint", "req/s", "base req/s", "cambio", "p99 ms", "base p99"));
+        endpoints.forEach((name, result) -> {
+            EndpointResult base = baseline.endpoints().get(name);
+            if (base != null) {
+                table.append(String.format(Locale.ROOT, "%-14s %11.1f %11.1f %+7.1f%% %11.2f %11.2f%n",
+                        name, result.throughput(), base.throughput(),
+                        base.throughput() == 0 ? 0 : (result.throughput() / base.throughput() - 1) * 100,
+                        result.p99(), base.p99()));
+            }
+        });
+        return table.toString();
+    }
+
+    // target/loadtest/<escenario>-<hilos>.json, para comparar entre modos y entre versiones
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = file(directory, scenario, threading);
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        return file;
+    }
+
+    static Optional<LoadReport> read(Path directory, String scenario, String threading) throws IOException {
+        Path file = file(directory, scenario, threading);
+        return Files.exists(file) ? Optional.of(OBJECT_MAPPER.readValue(file.toFile(), LoadReport.class)) : Optional.empty();
+    }
+
+    private static Path file(Path directory, String scenario, String threading) {
+        return directory.resolve(scenario + "-" + threading + ".json");
+    }
+}
@@ -0,0 +1,295 @@
+package com.neutron.inventory_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.dto.ProductCreateDTO;
+import com.neutron.inventory_service.loadtest.LoadGenerator.Endpoint;
+import com.neutron.inventory_service.loadtest.LoadGenerator.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tráfico de tienda y de checkout contra la API REST levantada sobre H2.
+ * <p>
+ * No se ejecuta con {@code mvn test}; se lanza con el perfil {@code loadtest}:
+ * {@code mvn -P loadtest test -Dloadtest.duration=60 -Dloadtest.concurrency=64}.
+ * La mezcla se ajusta con {@code -Dloadtest.mix=sku=40,category=20,price-range=20,bulk=5,reduce=15}.
+ * Los informes se imprimen y se guardan en {@code target/loadtest}.
+ * <p>
+ * Con Java 21, {@code -Dspring.threads.virtual.enabled=true} atiende las peticiones con hilos
+ * virtuales; si ya existe el informe del otro modo se imprime la comparación entre ambos.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "inventory.outbox.relay-enabled=true",
+        "logging.level.root=WARN"
+})
+@ActiveProfiles("test")
+class StorefrontLoadTest {
+
+    private static final int CATEGORIES = 20;
+    private static final String CHECKOUT_DEFAULT_MIX = "sku=40,category=20,price-range=20,bulk=5,reduce=15";
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+    private final int catalogSize = Integer.getInteger("loadtest.catalog-size", 10_000);
+    private final int bulkSize = Integer.getInteger("loadtest.bulk-size", 20);
+    private final int hotSkus = Integer.getInteger("loadtest.hot-skus", 5);
+    private final int hotStock = Integer.getInteger("loadtest.hot-stock", 5_000);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    // Sustituye al broker: el relay de la outbox publica sobre un canal simulado que confirma todo
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final AtomicLong bulkSequence = new AtomicLong();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RabbitOperations operations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+        seed();
+    }
+
+    @Test
+    void storefrontAndCheckoutMix() throws Exception {
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", CHECKOUT_DEFAULT_MIX));
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        endpoints.add(new Endpoint("sku", mix.getOrDefault("sku", 0),
+                random -> get("/api/products/sku/SKU-" + (random.nextInt(catalogSize) + 1)),
+                StorefrontLoadTest::okIfFound));
+        endpoints.add(new Endpoint("category", mix.getOrDefault("category", 0),
+                random -> get("/api/products/category?categories=categoria-" + (random.nextInt(CATEGORIES) + 1)
+                        + "&page=" + random.nextInt(10) + "&size=20"),
+                StorefrontLoadTest::okIf2xx));
+        endpoints.add(new Endpoint("price-range", mix.getOrDefault("price-range", 0),
+                random -> {
+                    int low = 100 + random.nextInt(99_000);
+                    return get("/api/products/price-range?low=" + low + "&high=" + (low + 1_000) + "&size=20");
+                },
+                StorefrontLoadTest::okIf2xx));
+        endpoints.add(new Endpoint("bulk", mix.getOrDefault("bulk", 0),
+                random -> post("/api/products/bulk", bulkBody()),
+                StorefrontLoadTest::okIf2xx));
+        endpoints.add(new Endpoint("reduce", mix.getOrDefault("reduce", 0),
+                random -> post("/api/stock/reduce/" + (random.nextInt(catalogSize) + 1), "1"),
+                StorefrontLoadTest::okIfReduced));
+
+        LoadReport report = new LoadGenerator(concurrency, warmup, duration).run("storefront-checkout", threading(), endpoints);
+        publish(report);
+
+        assertThat(report.totalRequests()).isPositive();
+        assertThat(report.maxErrorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    // Muchos checkouts sobre unos pocos SKU: mide la espera por el bloqueo de fila y comprueba que no se pierde stock
+    @Test
+    void hotSkuContention() throws Exception {
+        List<Long> hotIds = jdbcTemplate.queryForList(
+                "select id from products order by id fetch first ? rows only", Long.class, hotSkus);
+        for (Long id : hotIds) {
+            jdbcTemplate.update("update products set stock = ? where id = ?", hotStock, id);
+        }
+        AtomicLongArray reduced = new AtomicLongArray(hotIds.size());
+        // Una petición sin respuesta (p. ej. por timeout) pudo aplicarse o no en el servidor
+        AtomicLongArray sent = new AtomicLongArray(hotIds.size());
+
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("hot-sku", 10,
+                        random -> get("/api/products/sku/SKU-" + hotIds.get(random.nextInt(hotIds.size()))),
+                        StorefrontLoadTest::okIfFound),
+                new Endpoint("hot-reduce", 90,
+                        random -> {
+                            int hot = random.nextInt(hotIds.size());
+                            sent.incrementAndGet(hot);
+                            return post("/api/stock/reduce/" + hotIds.get(hot), "1", hot);
+                        },
+                        response -> {
+                            Outcome outcome = okIfReduced(response);
+                            if (outcome == Outcome.OK) {
+                                reduced.incrementAndGet(Integer.parseInt(
+                                        response.request().headers().firstValue("X-Load-Slot").orElseThrow()));
+                            }
+                            return outcome;
+                        }));
+
+        LoadReport report = new LoadGenerator(concurrency, warmup, duration).run("hot-sku-contention", threading(), endpoints);
+        publish(report);
+
+        // Las reducciones del calentamiento no se cuentan en el informe pero sí aquí
+        for (int i = 0; i < hotIds.size(); i++) {
+            Integer stock = jdbcTemplate.queryForObject("select stock from products where id = ?", Integer.class, hotIds.get(i));
+            assertThat(stock).isGreaterThanOrEqualTo(0);
+            assertThat((long) hotStock - stock).as("stock descontado del SKU %d", hotIds.get(i))
+                    .isBetween(reduced.get(i), sent.get(i));
+        }
+        assertThat(report.maxErrorRate()).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    // Catálogo sintético generado dentro de H2, igual que en los benchmarks
+    private void seed() {
+        jdbcTemplate.update("delete from outbox_events");
+        jdbcTemplate.update("delete from product_tags");
+        jdbcTemplate.update("delete from product_category");
+        jdbcTemplate.update("delete from products");
+        jdbcTemplate.update("delete from categories");
+        jdbcTemplate.update("delete from tags");
+        jdbcTemplate.execute("alter table products alter column id restart with 1");
+
+        for (int i = 1; i <= CATEGORIES; i++) {
+            jdbcTemplate.update("insert into categories (id, name) values (?, ?)", i, "categoria-" + i);
+            jdbcTemplate.update("insert into tags (id, name) values (?, ?)", i, "etiqueta-" + i);
+        }
+        // Las secuencias de Hibernate reservan de 50 en 50: se adelantan para que /bulk no choque con los ids anteriores
+        jdbcTemplate.execute("alter sequence categories_seq restart with 1000");
+        jdbcTemplate.execute("alter sequence tags_seq restart with 1000");
+
+        jdbcTemplate.update("""
+                insert into products (name, description, sku, stock, brand, price, weight, dimensions, status,
+                                      average_rating, created_at, updated_at)
+                select 'Producto ' || x, 'Descripción del producto ' || x, 'SKU-' || x, 1000000,
+                       'Marca ' || mod(x, 50), 100 + mod(x * 7919, 100000), 0.5, '100mm x 50mm', 'Disponible',
+                       0, current_timestamp, current_timestamp
+                from system_range(1, ?)
+                """, catalogSize);
+        jdbcTemplate.update("insert into product_category (product_id, category_id) select id, mod(id, ?) + 1 from products", CATEGORIES);
+        jdbcTemplate.update("insert into product_tags (product_id, tag_id) select id, mod(id * 7, ?) + 1 from products", CATEGORIES);
+        jdbcTemplate.execute("analyze");
+    }
+
+    private String bulkBody() {
+        List<ProductCreateDTO> products = new ArrayList<>();
+        for (int i = 0; i < bulkSize; i++) {
+            long n = bulkSequence.incrementAndGet();
+            products.add(ProductCreateDTO.builder()
+                    .name("Producto carga " + n)
+                    .sku("LOAD-BULK-" + n)
+                    .stock(100)
+                    .brand("Marca " + n % 50)
+                    .price(100 + (int) (n % 100_000))
+                    .status("Disponible")
+                    .categoryNames(Set.of("categoria-" + (n % CATEGORIES + 1)))
+                    .tagNames(Set.of("etiqueta-" + (n % CATEGORIES + 1)))
+                    .build());
+        }
+        try {
+            return objectMapper.writeValueAsString(products);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // La cabecera identifica el SKU caliente al clasificar la respuesta; el servidor la ignora
+    private HttpRequest post(String path, String json, int slot) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("X-Load-Slot", String.valueOf(slot))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String threading() {
+        return Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform";
+    }
+
+    private void publish(LoadReport report) throws Exception {
+        Path directory = Path.of("target", "loadtest");
+        System.out.print(report.format());
+        System.out.println("Informe: " + report.write(directory));
+
+        String otherThreading = report.threading().equals("virtual") ? "platform" : "virtual";
+        LoadReport.read(directory, report.scenario(), otherThreading)
+                .ifPresent(baseline -> System.out.print(report.formatComparison(baseline)));
+    }
+
+    // "sku=40,category=20" -> {sku=40, category=20}
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida en loadtest.mix: " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Outcome okIf2xx(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2 ? Outcome.OK : Outcome.ERROR;
+    }
+
+    // El controlador responde 200 con un texto cuando el SKU no existe
+    private static Outcome okIfFound(HttpResponse<String> response) {
+        if (okIf2xx(response) == Outcome.ERROR || response.body().equals("Producto no encontrado")) {
+            return Outcome.ERROR;
+        }
+        return Outcome.OK;
+    }
+
+    // Igual para /stock/reduce; "Stock insuficiente" es un rechazo de negocio, no un error
+    private static Outcome okIfReduced(HttpResponse<String> response) {
+        if (okIf2xx(response) == Outcome.ERROR || response.body().equals("Producto no encontrado")) {
+            return Outcome.ERROR;
+        }
+        return response.body().equals("Stock insuficiente") ? Outcome.REJECTED : Outcome.OK;
+    }
+}
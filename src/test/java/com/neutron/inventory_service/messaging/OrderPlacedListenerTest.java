@@ -0,0 +1,76 @@
+package com.neutron.inventory_service.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neutron.inventory_service.InventoryIntegrationTest;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.dto.OrderPlacedEventDTO;
+import com.neutron.inventory_service.dto.StockReservationLineDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+// Los mensajes se entregan llamando al listener como lo haría el contenedor con un lote del broker
+class OrderPlacedListenerTest extends InventoryIntegrationTest {
+
+    @Autowired
+    private OrderPlacedListener orderPlacedListener;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void appliesEachOrderOnceAndRoutesRejectionsToTheDeadLetterExchange() throws Exception {
+        Long productId = createProduct("SKU-ORDER-1", 10).getId();
+        Message first = order("pedido-1", productId, 4);
+
+        orderPlacedListener.onOrders(List.of(
+                first,
+                order("pedido-2", productId, 5),
+                first,
+                order("pedido-3", productId, 3),
+                message("{no es json")));
+
+        // 10 - 4 - 5: el pedido repetido en el lote cuenta una vez y el tercero no cabe
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(1);
+        assertThat(processedOrderRepository.findAll())
+                .extracting(order -> order.getOrderId() + ":" + order.isReserved())
+                .containsExactlyInAnyOrder("pedido-1:true", "pedido-2:true", "pedido-3:false");
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getRoutingKey().equals(RabbitMQConfig.ORDER_INSUFFICIENT_STOCK_ROUTING_KEY))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getPayload()).contains("\"orderId\":\"pedido-3\""));
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.ORDER_DEAD_LETTER_EXCHANGE), eq(RabbitMQConfig.ORDER_INVALID_ROUTING_KEY),
+                argThat((Message message) -> message.getMessageProperties().getHeader(OrderPlacedListener.ERROR_HEADER) != null));
+
+        // Una redelivery posterior del mismo pedido no vuelve a descontar
+        orderPlacedListener.onOrders(List.of(first));
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(1);
+        assertThat(processedOrderRepository.count()).isEqualTo(3);
+        verify(rabbitTemplate).send(any(String.class), any(String.class), any(Message.class));
+        verifyNoMoreInteractions(rabbitTemplate);
+    }
+
+    private Message order(String orderId, Long productId, int quantity) throws Exception {
+        return message(objectMapper.writeValueAsString(OrderPlacedEventDTO.builder()
+                .orderId(orderId)
+                .lines(List.of(new StockReservationLineDTO(productId, quantity)))
+                .build()));
+    }
+
+    private static Message message(String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,201 @@
+package com.neutron.inventory_service.messaging;
+
+import com.neutron.inventory_service.InventoryIntegrationTest;
+import com.neutron.inventory_service.config.RabbitMQConfig;
+import com.neutron.inventory_service.dto.ProductUpdateDTO;
+import com.neutron.inventory_service.model.OutboxEvent;
+import com.neutron.inventory_service.service.ProductService;
+import com.neutron.inventory_service.service.StockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest extends InventoryIntegrationTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Sustituye al broker: invoke ejecuta el callback sobre un canal simulado
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+    }
+
+    @Test
+    void lowStockEventsAreStoredWithTheStockChangeAndPublishedByTheRelay() {
+        Long productId = createProduct("SKU-OUTBOX-1", 12).getId();
+
+        stockService.reduceStock(productId, 5);
+
+        assertThat(outboxEventRepository.findAll(Sort.by("id")))
+                .allSatisfy(event -> assertThat(event.getAggregateId()).isEqualTo(productId))
+                .extracting(OutboxEvent::getRoutingKey)
+                .containsExactly(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY, RabbitMQConfig.STOCK_LOW_ROUTING_KEY);
+        verifyNoInteractions(rabbitTemplate);
+
+        assertThat(outboxRelay.drain()).isEqualTo(2);
+
+        verify(operations).send(eq(RabbitMQConfig.STOCK_EXCHANGE), eq(RabbitMQConfig.STOCK_LOW_ROUTING_KEY),
+                argThatBody(body -> body.contains("\"stock\":7")));
+        verify(operations).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE), eq(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY),
+                argThatBody(body -> body.contains("\"stock\":7") && body.contains("\"previousStock\":12")));
+        verify(operations).waitForConfirmsOrDie(anyLong());
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void rolledBackStockChangesLeaveNoEvents() {
+        Long productId = createProduct("SKU-OUTBOX-2", 12).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockService.reduceStock(productId, 5);
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(12);
+    }
+
+    @Test
+    void unconfirmedBatchesStayInTheOutboxUntilTheNextPoll() {
+        Long productId = createProduct("SKU-OUTBOX-3", 12).getId();
+        stockService.reduceStock(productId, 5);
+        doThrow(new AmqpException("broker caído")).doNothing().when(operations).waitForConfirmsOrDie(anyLong());
+
+        assertThat(outboxRelay.drain()).isZero();
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+
+        assertThat(outboxRelay.drain()).isEqualTo(2);
+        assertThat(outboxEventRepository.count()).isZero();
+        verify(operations, times(2)).send(eq(RabbitMQConfig.STOCK_EXCHANGE), eq(RabbitMQConfig.STOCK_LOW_ROUTING_KEY),
+                argThatBody(body -> body.contains("\"productId\":" + productId)));
+    }
+
+    @Test
+    void pendingEventsAndTheirAgeAreReportedUntilPublished() {
+        Long productId = createProduct("SKU-OUTBOX-8", 12).getId();
+        stockService.reduceStock(productId, 5);
+        doThrow(new AmqpException("broker caído")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        outboxRelay.drain();
+        assertThat(meterRegistry.get("inventory.outbox.pending").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("inventory.outbox.oldest.age").timeGauge().value()).isNotNegative();
+
+        doNothing().when(operations).waitForConfirmsOrDie(anyLong());
+        outboxRelay.drain();
+        assertThat(meterRegistry.get("inventory.outbox.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("inventory.outbox.oldest.age").timeGauge().value()).isZero();
+    }
+
+    @Test
+    void lowStockNoticesAreStoredOnCrossingAndMergedPerProduct() {
+        Long productId = createProduct("SKU-OUTBOX-5", 12).getId();
+
+        stockService.reduceStock(productId, 5);   // 12 -> 7: cruza el umbral
+        stockService.reduceStock(productId, 1);   // 7 -> 6: ya estaba por debajo
+        stockService.increaseStock(productId, 11); // 6 -> 17
+        stockService.reduceStock(productId, 10);  // 17 -> 7: vuelve a cruzarlo
+
+        assertThat(outboxEventRepository.findAll(Sort.by("id")))
+                .extracting(OutboxEvent::getRoutingKey)
+                .filteredOn(RabbitMQConfig.STOCK_LOW_ROUTING_KEY::equals)
+                .hasSize(2);
+
+        // Cuatro cambios de stock (no se combinan) y dos avisos de stock bajo que salen como uno
+        assertThat(outboxRelay.drain()).isEqualTo(6);
+        verify(operations, times(4)).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE),
+                eq(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY), any(Message.class));
+
+        verify(operations, times(1)).send(eq(RabbitMQConfig.STOCK_EXCHANGE), eq(RabbitMQConfig.STOCK_LOW_ROUTING_KEY),
+                any(Message.class));
+        verify(operations).send(eq(RabbitMQConfig.STOCK_EXCHANGE), eq(RabbitMQConfig.STOCK_LOW_ROUTING_KEY),
+                argThatBody(body -> body.contains("\"stock\":7")));
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void productChangesAreStoredAsProductEvents() {
+        Long productId = createProduct("SKU-OUTBOX-4", 12).getId();
+
+        productService.updateProductDTO(productId, ProductUpdateDTO.builder().stock(12).price(150).build());
+        productService.deleteProductById(productId);
+
+        assertThat(outboxEventRepository.findAll(Sort.by("id")))
+                .allSatisfy(event -> {
+                    assertThat(event.getExchange()).isEqualTo(RabbitMQConfig.PRODUCT_EXCHANGE);
+                    assertThat(event.getAggregateId()).isEqualTo(productId);
+                })
+                .extracting(OutboxEvent::getRoutingKey)
+                .containsExactly(RabbitMQConfig.PRODUCT_UPDATED_ROUTING_KEY,
+                        RabbitMQConfig.PRODUCT_PRICE_CHANGED_ROUTING_KEY,
+                        RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY);
+
+        assertThat(outboxRelay.drain()).isEqualTo(3);
+        verify(operations).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE), eq(RabbitMQConfig.PRODUCT_PRICE_CHANGED_ROUTING_KEY),
+                argThatBody(body -> body.contains("\"price\":150") && body.contains("\"previousPrice\":100")
+                        && !body.contains("\"product\"")));
+        InOrder inOrder = inOrder(operations);
+        inOrder.verify(operations).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE), eq(RabbitMQConfig.PRODUCT_UPDATED_ROUTING_KEY),
+                any(Message.class));
+        inOrder.verify(operations).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE), eq(RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY),
+                any(Message.class));
+    }
+
+    @Test
+    void eventsOfOneProductArePublishedInOrderByItsPartition() {
+        Long first = createProduct("SKU-OUTBOX-6", 20).getId();
+        Long second = createProduct("SKU-OUTBOX-7", 20).getId();
+
+        for (int i = 0; i < 3; i++) {
+            stockService.reduceStock(first, 1);
+            stockService.reduceStock(second, 1);
+        }
+
+        assertThat(outboxRelay.drain()).isEqualTo(6);
+        // Cada producto cae en una partición distinta (parallelism=2), pero su stock sale en orden: 19, 18, 17
+        InOrder inOrder = inOrder(operations);
+        for (int stock = 19; stock >= 17; stock--) {
+            String expected = "\"stock\":" + stock;
+            inOrder.verify(operations).send(eq(RabbitMQConfig.PRODUCT_EXCHANGE), eq(RabbitMQConfig.PRODUCT_STOCK_CHANGED_ROUTING_KEY),
+                    argThatBody(body -> body.contains("\"productId\":" + first + ",") && body.contains(expected)));
+        }
+    }
+
+    private static Message argThatBody(Predicate<String> predicate) {
+        return argThat(message -> predicate.test(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+}
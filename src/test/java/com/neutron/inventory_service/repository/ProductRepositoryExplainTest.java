@@ -0,0 +1,189 @@
+package com.neutron.inventory_service.repository;
+
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprueba con EXPLAIN que cada consulta de ProductRepository tiene un índice que la cubre.
+ * <p>
+ * Necesita PostgreSQL 16 o superior (EXPLAIN GENERIC_PLAN), por ejemplo el servicio "db" de
+ * docker-compose-inventory.yml:
+ * {@code INVENTORY_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5433/inventario_db mvn test}.
+ * Los datos de prueba se insertan en una transacción que se deshace al terminar.
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.neutron.inventory_service.repository.ProductRepositoryExplainTest$SqlRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "INVENTORY_TEST_POSTGRES_URL", matches = ".+")
+class ProductRepositoryExplainTest {
+
+    private static final int PRODUCTS = 2000;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        // Protocolo simple: con el extendido el driver exigiría valores para los $1 de EXPLAIN GENERIC_PLAN
+        registry.add("spring.datasource.url", () -> {
+            String url = System.getenv("INVENTORY_TEST_POSTGRES_URL");
+            return url + (url.contains("?") ? "&" : "?") + "preferQueryMode=simple";
+        });
+        registry.add("spring.datasource.username", () -> env("INVENTORY_TEST_POSTGRES_USERNAME", "postgres"));
+        registry.add("spring.datasource.password", () -> env("INVENTORY_TEST_POSTGRES_PASSWORD", "postgres"));
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            categories.add(categoryRepository.save(Category.builder().name("explain-categoria-" + i).build()));
+            tags.add(tagRepository.save(Tag.builder().name("explain-etiqueta-" + i).build()));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Producto " + i)
+                    .sku("EXPLAIN-" + i)
+                    .brand("Marca " + i % 50)
+                    .status(i % 3 == 0 ? "Agotado" : "Disponible")
+                    .price(100 + i % 500)
+                    .stock(i % 20)
+                    .categories(Set.of(categories.get(i % 20)))
+                    .tags(Set.of(tags.get(i % 20)))
+                    .build());
+        }
+        productId = productRepository.saveAll(products).get(0).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("analyze products, categories, tags, product_category, product_tags");
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void everyFinderIsServedByAnIndex() {
+        List<String> categoryNames = List.of("EXPLAIN-CATEGORIA-1", "explain-categoria-2");
+        List<String> brands = List.of("marca 1", "MARCA 2");
+        Sort byPrice = Sort.by(Sort.Direction.ASC, "price", "id");
+
+        productRepository.findBySku("EXPLAIN-1");
+        productRepository.findIdBySku("EXPLAIN-1");
+        productRepository.existsBySku("EXPLAIN-1");
+        productRepository.findExistingSkus(List.of("EXPLAIN-1", "EXPLAIN-2"));
+        productRepository.findByCategories_NameInIgnoreCase(categoryNames, PageRequest.of(0, 10, byPrice));
+        productRepository.findByBrandInIgnoreCase(brands, PageRequest.of(0, 10, byPrice));
+        productRepository.findAllByOrderByPriceAsc(PageRequest.of(0, 10));
+        productRepository.findAllByOrderByPriceDesc(PageRequest.of(0, 10));
+        productRepository.findByPriceGreaterThanEqual(550, PageRequest.of(0, 10, byPrice));
+        productRepository.findByPriceLessThanEqual(110, PageRequest.of(0, 10, byPrice));
+        productRepository.findByPriceBetween(200, 210, PageRequest.of(0, 10, byPrice));
+        productRepository.findDistinctByCategories_NameInIgnoreCase(categoryNames, ScrollPosition.keyset(), byPrice, Limit.of(10));
+        productRepository.findByBrandInIgnoreCase(brands, ScrollPosition.keyset(), byPrice, Limit.of(10));
+        productRepository.findAllBy(ScrollPosition.forward(Map.of("price", 300, "id", productId)), byPrice, Limit.of(10));
+        productRepository.findByPriceBetween(200, 210, ScrollPosition.keyset(), byPrice, Limit.of(10));
+        productRepository.findByIdGreaterThanOrderByIdAsc(productId, Limit.of(100));
+        productRepository.findCategoryNamesByProductIds(List.of(productId, productId + 1));
+        productRepository.findTagNamesByProductIds(List.of(productId, productId + 1));
+        productRepository.findStockViewById(productId);
+        productRepository.findStockViewsByIdIn(List.of(productId, productId + 1));
+        productRepository.decrementStock(productId, 1);
+        productRepository.incrementStock(productId, 1);
+        productRepository.findAllByIdInOrderByIdForUpdate(List.of(productId, productId + 1));
+        productRepository.findAll(Specification.allOf(
+                ProductSpecifications.hasAnyCategory(categoryNames),
+                ProductSpecifications.hasAnyTag(List.of("explain-etiqueta-1")),
+                ProductSpecifications.hasAnyBrand(brands),
+                ProductSpecifications.hasStatus("disponible"),
+                ProductSpecifications.priceGreaterThanEqual(150),
+                ProductSpecifications.inStock()), PageRequest.of(0, 10, byPrice));
+
+        List<String> statements = SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") || sql.startsWith("update"))
+                .distinct()
+                .toList();
+        assertThat(statements).isNotEmpty();
+
+        // Con enable_seqscan=off el planificador solo recorre una tabla entera si no hay ningún índice utilizable
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        Map<String, String> sequentialScans = new LinkedHashMap<>();
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "explain (generic_plan) " + numberParameters(sql), String.class));
+            if (plan.contains("Seq Scan")) {
+                sequentialScans.put(sql, plan);
+            }
+        }
+        assertThat(sequentialScans).isEmpty();
+    }
+
+    // Los parámetros JDBC (?) pasan a ser $1, $2... para poder pedir el plan genérico
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+
+    // Registra el SQL que genera Hibernate para cada método del repositorio
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
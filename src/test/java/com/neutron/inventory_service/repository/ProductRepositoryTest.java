@@ -1,12 +1,194 @@
 package com.neutron.inventory_service.repository;
 
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.mapper.ProductMapper;
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import com.neutron.inventory_service.repository.ProductFacetRepository.Facet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
 
-@DataJpaTest
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
 class ProductRepositoryTest {
 
+    // Consulta de la página + count + categorías en lote + etiquetas en lote
+    private static final long MAX_STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private Statistics statistics;
+
     @BeforeEach
     void setUp() {
+        Category phones = categoryRepository.save(Category.builder().name("celulares").build());
+        Category audio = categoryRepository.save(Category.builder().name("audio").build());
+        Tag sale = tagRepository.save(Tag.builder().name("oferta").build());
+        Tag fresh = tagRepository.save(Tag.builder().name("nuevo").build());
+
+        for (int i = 0; i < 25; i++) {
+            productRepository.save(Product.builder()
+                    .name("Producto " + i)
+                    .sku("SKU-" + i)
+                    .brand(i % 2 == 0 ? "Samsung" : "Xiaomi")
+                    .price(100 + i)
+                    .stock(i)
+                    .categories(Set.of(phones, audio))
+                    .tags(Set.of(sale, fresh))
+                    .build());
+        }
+
+        // Partir de un contexto de persistencia vacío para que las asociaciones se carguen de forma perezosa
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pagedFindersLoadAssociationsWithConstantStatements() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+
+        assertStatementsPerPage(() -> productRepository.findByCategories_NameInIgnoreCase(List.of("CELULARES"), pageable));
+        assertStatementsPerPage(() -> productRepository.findByBrandInIgnoreCase(List.of("samsung", "xiaomi"), pageable));
+        assertStatementsPerPage(() -> productRepository.findAllByOrderByPriceAsc(PageRequest.of(0, 10)));
+        assertStatementsPerPage(() -> productRepository.findAllByOrderByPriceDesc(PageRequest.of(0, 10)));
+        assertStatementsPerPage(() -> productRepository.findByPriceGreaterThanEqual(100, pageable));
+        assertStatementsPerPage(() -> productRepository.findByPriceLessThanEqual(200, pageable));
+        assertStatementsPerPage(() -> productRepository.findByPriceBetween(100, 200, pageable));
+    }
+
+    @Test
+    void keysetFindersWalkAllRowsWithoutCountQueries() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "price", "id");
+        ScrollPosition position = ScrollPosition.keyset();
+        List<Integer> prices = new ArrayList<>();
+
+        Window<Product> window;
+        do {
+            entityManager.clear();
+            statistics.clear();
+
+            window = productRepository.findByPriceBetween(100, 200, position, sort, Limit.of(10));
+            window.forEach(product -> {
+                productMapper.toDto(product);
+                prices.add(product.getPrice());
+            });
+            // Consulta de la página + categorías en lote + etiquetas en lote, sin count(*)
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE - 1);
+
+            position = window.positionAt(window.size() - 1);
+        } while (window.hasNext());
+
+        assertThat(prices).hasSize(25).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void searchCombinesAllFiltersInASingleQuery() {
+        Pageable pageable = PageRequest.of(0, 25, Sort.by("price"));
+
+        // Patrón anterior: una llamada por filtro y la intersección en el cliente
+        entityManager.clear();
+        statistics.clear();
+        Set<Long> byCategory = ids(productRepository.findByCategories_NameInIgnoreCase(List.of("CELULARES"), pageable));
+        Set<Long> byBrand = ids(productRepository.findByBrandInIgnoreCase(List.of("samsung"), pageable));
+        Set<Long> byPrice = ids(productRepository.findByPriceBetween(105, 120, pageable));
+        long multiCallStatements = statistics.getPrepareStatementCount();
+        byCategory.retainAll(byBrand);
+        byCategory.retainAll(byPrice);
+
+        entityManager.clear();
+        statistics.clear();
+        Page<Product> result = productRepository.findAll(Specification.allOf(
+                ProductSpecifications.hasAnyCategory(List.of("CELULARES")),
+                ProductSpecifications.hasAnyBrand(List.of("samsung")),
+                ProductSpecifications.priceGreaterThanEqual(105),
+                ProductSpecifications.priceLessThanEqual(120),
+                ProductSpecifications.inStock()), pageable);
+        result.map(productMapper::toDto);
+
+        assertThat(ids(result)).isEqualTo(byCategory).hasSize(8);
+        assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE)
+                .isLessThan(multiCallStatements);
+    }
+
+    @Test
+    void facetCountsTakeOneGroupedQueryEach() {
+        Specification<Product> samsungInStock = Specification.allOf(
+                ProductSpecifications.hasAnyBrand(List.of("samsung")),
+                ProductSpecifications.inStock());
+
+        statistics.clear();
+        assertThat(productRepository.countByFacet(Facet.BRAND, ProductSpecifications.inStock(), 10))
+                .containsExactly(entry("Samsung", 12L), entry("Xiaomi", 12L));
+        assertThat(productRepository.countByFacet(Facet.CATEGORY, samsungInStock, 10))
+                .containsExactly(entry("audio", 12L), entry("celulares", 12L));
+        assertThat(productRepository.countByFacet(Facet.TAG, samsungInStock, 1))
+                .containsExactly(entry("nuevo", 12L));
+        assertThat(productRepository.countByPriceRanges(samsungInStock, List.of(105, 120)))
+                .containsExactly(2L, 7L, 3L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private static Set<Long> ids(Page<Product> page) {
+        return page.map(Product::getId).stream().collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void assertStatementsPerPage(Supplier<Page<Product>> finder) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProductDTO> dtos = finder.get().map(productMapper::toDto).getContent();
+
+        assertThat(dtos).hasSize(10);
+        assertThat(dtos).allSatisfy(dto -> {
+            assertThat(dto.getCategoryNames()).containsExactlyInAnyOrder("celulares", "audio");
+            assertThat(dto.getTagNames()).containsExactlyInAnyOrder("oferta", "nuevo");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
     }
-}
\ No newline at end of file
+}
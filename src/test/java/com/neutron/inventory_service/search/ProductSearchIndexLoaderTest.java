@@ -0,0 +1,87 @@
+package com.neutron.inventory_service.search;
+
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.dto.ProductChangesDTO;
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.error.ChangeTokenExpiredException;
+import com.neutron.inventory_service.service.ProductChangeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexLoaderTest {
+
+    private final ProductChangeService productChangeService = mock(ProductChangeService.class);
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private final ProductSearchIndexLoader loader =
+            new ProductSearchIndexLoader(productChangeService, index, Runnable::run, true, 2);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            ((Consumer<List<ProductChangeDTO>>) invocation.getArgument(1)).accept(List.of(
+                    changed(1L, "Cámara réflex", "t1"), changed(2L, "Funda para cámara", "t2")));
+            return null;
+        }).when(productChangeService).streamChanges(isNull(), any());
+        loader.load();
+    }
+
+    @Test
+    void appliesChangesMadeByOtherInstancesFromTheLastToken() {
+        assertThat(index.search("camara", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+
+        // Otra instancia renombra el 1, borra el 2 y crea el 3; llegan en dos páginas
+        when(productChangeService.getChanges("t2", 2)).thenReturn(page(true, "t4",
+                changed(1L, "Trípode", "t3"), deleted(2L, "t4")));
+        when(productChangeService.getChanges("t4", 2)).thenReturn(page(false, "t5",
+                changed(3L, "Lente para cámara", "t5")));
+        loader.sync();
+
+        assertThat(index.search("camara", 0, 10).productIds()).containsExactly(3L);
+        assertThat(index.search("tripode", 0, 10).productIds()).containsExactly(1L);
+
+        when(productChangeService.getChanges("t5", 2)).thenReturn(page(false, "t6"));
+        loader.sync();
+        verify(productChangeService).getChanges("t5", 2);
+    }
+
+    @Test
+    void reloadsTheCatalogWhenTheTokenHasExpired() {
+        index.put(ProductDTO.builder().id(9L).name("Producto ya borrado").build());
+        when(productChangeService.getChanges(eq("t2"), anyInt()))
+                .thenThrow(new ChangeTokenExpiredException("caducado"));
+
+        loader.sync();
+
+        assertThat(index.search("borrado", 0, 10).total()).isZero();
+        assertThat(index.search("camara", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L);
+        verify(productChangeService, times(2)).streamChanges(isNull(), any());
+    }
+
+    private static ProductChangesDTO page(boolean hasMore, String nextToken, ProductChangeDTO... changes) {
+        return ProductChangesDTO.builder().changes(List.of(changes)).hasMore(hasMore).nextToken(nextToken).build();
+    }
+
+    private static ProductChangeDTO changed(Long id, String name, String token) {
+        return ProductChangeDTO.builder()
+                .type(ProductChangeDTO.Type.UPDATED)
+                .productId(id)
+                .product(ProductDTO.builder().id(id).name(name).build())
+                .token(token)
+                .build();
+    }
+
+    private static ProductChangeDTO deleted(Long id, String token) {
+        return ProductChangeDTO.builder().type(ProductChangeDTO.Type.DELETED).productId(id).token(token).build();
+    }
+}
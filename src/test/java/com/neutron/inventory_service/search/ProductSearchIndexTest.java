@@ -0,0 +1,133 @@
+package com.neutron.inventory_service.search;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(product(1L, "Cámara réflex", "Canon", "Cámara digital para fotografía", Set.of("fotografía"), Set.of("oferta")));
+        index.put(product(2L, "Funda para cámara", "Genérica", "Funda acolchada", Set.of("accesorios"), Set.of()));
+        index.put(product(3L, "Teléfono inteligente", "Samsung", "Pantalla de seis pulgadas y cámara triple", Set.of("celulares"), Set.of("nuevo")));
+        index.put(product(4L, "Audífonos inalámbricos", "Sony", "Cancelación de ruido", Set.of("audio"), Set.of("oferta")));
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertThat(index.search("CAMARA", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("telefono", 0, 10).productIds()).containsExactly(3L);
+    }
+
+    @Test
+    void ranksNameAboveDescription() {
+        // La cámara réflex tiene el término en el nombre y en la descripción; el teléfono solo en la descripción
+        assertThat(index.search("cámara", 0, 10).productIds()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void keepsEachProductsScoreWhenOtherProductsMatchOnlySomeTerms() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(product(5L, "Zeta compacta", "Genérica", "Versión beta", Set.of(), Set.of()));
+        index.put(product(8L, "Zeta plegable", "Beta", "Aluminio", Set.of(), Set.of()));
+        assertThat(index.search("zeta beta", 0, 10).productIds()).containsExactly(8L, 5L);
+
+        // Un producto de id menor con solo uno de los términos no suma su puntuación a los demás
+        index.put(product(3L, "Beta", "Genérica", "Sin relación", Set.of(), Set.of()));
+        assertThat(index.search("zeta beta", 0, 10).productIds()).containsExactly(8L, 5L);
+        assertThat(index.search("beta zeta", 0, 10).productIds()).containsExactly(8L, 5L);
+    }
+
+    @Test
+    void requiresEveryTermAndSkipsStopwords() {
+        assertThat(index.search("funda de cámara", 0, 10).productIds()).containsExactly(2L);
+        assertThat(index.search("oferta sony", 0, 10).productIds()).containsExactly(4L);
+        assertThat(index.search("de la", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void toleratesTyposAndCompletesTheLastTerm() {
+        assertThat(index.search("audifonso", 0, 10).productIds()).containsExactly(4L);
+        assertThat(index.search("inalambircos", 0, 10).productIds()).containsExactly(4L);
+        assertThat(index.search("samsung intel", 0, 10).productIds()).containsExactly(3L);
+        // Tres letras: sin erratas admitidas
+        assertThat(index.search("sny", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void pagesThroughHitsAndReportsTheTotal() {
+        ProductSearchIndex.Hits hits = index.search("camara", 1, 1);
+        assertThat(hits.productIds()).containsExactly(2L);
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(index.search("camara", 5, 10).productIds()).isEmpty();
+    }
+
+    @Test
+    void reindexesAndRemovesProducts() {
+        index.put(product(2L, "Estuche rígido", "Genérica", "Para lentes", Set.of("accesorios"), Set.of()));
+        assertThat(index.search("funda", 0, 10).total()).isZero();
+        assertThat(index.search("estuche", 0, 10).productIds()).containsExactly(2L);
+
+        index.remove(1L);
+        assertThat(index.search("canon", 0, 10).total()).isZero();
+        assertThat(index.search("camara", 0, 10).productIds()).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(3);
+
+        index.clear();
+        assertThat(index.search("camara", 0, 10).total()).isZero();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void theStartupLoadDoesNotBringBackProductsRemovedMeanwhile() {
+        ProductDTO camera = product(1L, "Cámara réflex", "Canon", "Cámara digital", Set.of(), Set.of());
+        ProductDTO tripod = product(5L, "Trípode para cámara", "Manfrotto", "Aluminio", Set.of(), Set.of());
+        ProductDTO lens = product(6L, "Lente para cámara", "Canon", "50 mm", Set.of(), Set.of());
+        index.put(tripod);
+        index.startLoad();
+
+        // La carga leyó el trípode y la lente antes de que se borraran; el trípode ya estaba indexado
+        index.remove(5L);
+        index.remove(6L);
+        index.putIfAbsent(camera);
+        index.putIfAbsent(tripod);
+        index.putIfAbsent(lens);
+        index.finishLoad();
+
+        assertThat(index.search("camara", 0, 10).productIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        // Fuera de la carga los borrados no se recuerdan
+        index.putIfAbsent(lens);
+        assertThat(index.search("lente", 0, 10).productIds()).containsExactly(6L);
+    }
+
+    @Test
+    void theStartupLoadStopsAddingProductsAfterAClear() {
+        index.startLoad();
+        index.clear();
+        index.putIfAbsent(product(1L, "Cámara réflex", "Canon", "Cámara digital", Set.of(), Set.of()));
+        index.finishLoad();
+
+        assertThat(index.size()).isZero();
+    }
+
+    private static ProductDTO product(Long id, String name, String brand, String description,
+                                      Set<String> categories, Set<String> tags) {
+        return ProductDTO.builder()
+                .id(id)
+                .name(name)
+                .brand(brand)
+                .description(description)
+                .categoryNames(categories)
+                .tagNames(tags)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.InventoryIntegrationTest;
+import com.neutron.inventory_service.dto.ProductChangeDTO;
+import com.neutron.inventory_service.dto.ProductChangesDTO;
+import com.neutron.inventory_service.error.ChangeTokenExpiredException;
+import com.neutron.inventory_service.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@TestPropertySource(properties = "inventory.changes.settle-delay=PT0S")
+class ProductChangeServiceImplTest extends InventoryIntegrationTest {
+
+    @Autowired
+    private ProductChangeService productChangeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void feedReturnsChangesInOrderAndResumesFromToken() {
+        Product kept = createProduct("SKU-CHANGE-1");
+        Product deleted = createProduct("SKU-CHANGE-2");
+        kept.setStock(20);
+        productRepository.save(kept);
+        productService.deleteProductById(deleted.getId());
+
+        // Sin token: el producto que queda y el borrado, de uno en uno
+        ProductChangesDTO first = productChangeService.getChanges(null, 1);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getChanges()).extracting(ProductChangeDTO::getType, ProductChangeDTO::getProductId)
+                .containsExactly(tuple(ProductChangeDTO.Type.CREATED, kept.getId()));
+        assertThat(first.getChanges().get(0).getProduct().getStock()).isEqualTo(20);
+
+        ProductChangesDTO second = productChangeService.getChanges(first.getNextToken(), 1);
+        assertThat(second.getChanges()).extracting(ProductChangeDTO::getType, ProductChangeDTO::getProductId, ProductChangeDTO::getSku)
+                .containsExactly(tuple(ProductChangeDTO.Type.DELETED, deleted.getId(), "SKU-CHANGE-2"));
+
+        ProductChangesDTO caughtUp = productChangeService.getChanges(second.getNextToken(), 10);
+        assertThat(caughtUp.getChanges()).isEmpty();
+        assertThat(caughtUp.isHasMore()).isFalse();
+        assertThat(ProductChangeToken.decode(second.getNextToken()).isBefore(ProductChangeToken.decode(caughtUp.getNextToken())))
+                .isTrue();
+
+        // Desde el último token, una modificación y un alta nuevos
+        kept.setStock(30);
+        productRepository.save(kept);
+        Product added = createProduct("SKU-CHANGE-3");
+
+        List<ProductChangeDTO> streamed = new ArrayList<>();
+        productChangeService.streamChanges(second.getNextToken(), streamed::addAll);
+        assertThat(streamed).extracting(ProductChangeDTO::getType, ProductChangeDTO::getProductId)
+                .containsExactly(tuple(ProductChangeDTO.Type.UPDATED, kept.getId()),
+                        tuple(ProductChangeDTO.Type.CREATED, added.getId()));
+
+        // El token avanzado sin cambios no se salta los posteriores
+        assertThat(productChangeService.getChanges(caughtUp.getNextToken(), 10).getChanges())
+                .extracting(ProductChangeDTO::getType, ProductChangeDTO::getProductId)
+                .containsExactly(tuple(ProductChangeDTO.Type.UPDATED, kept.getId()),
+                        tuple(ProductChangeDTO.Type.CREATED, added.getId()));
+    }
+
+    @Test
+    void aQuietCatalogMovesTheTokenForwardSoItDoesNotExpire() {
+        String old = new ProductChangeToken(LocalDateTime.now().minusDays(29), 1L).encode();
+
+        ProductChangesDTO quiet = productChangeService.getChanges(old, 10);
+
+        assertThat(quiet.getChanges()).isEmpty();
+        assertThat(ProductChangeToken.decode(quiet.getNextToken()).changedAt())
+                .isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void rejectsInvalidAndExpiredTokens() {
+        assertThatThrownBy(() -> productChangeService.getChanges("no-es-un-token", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String expired = new ProductChangeToken(LocalDateTime.now().minusDays(365), 1L).encode();
+        assertThatThrownBy(() -> productChangeService.getChanges(expired, 10))
+                .isInstanceOf(ChangeTokenExpiredException.class);
+    }
+
+    private Product createProduct(String sku) {
+        return createProduct(sku, 10);
+    }
+}
@@ -0,0 +1,33 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class ProductCursorTest {
+
+    @Test
+    void sortKeysSurviveTheRoundTrip() {
+        Product product = Product.builder().id(42L).name("null: edición 2").price(1500).build();
+
+        KeysetScrollPosition byName = (KeysetScrollPosition) ProductCursor.decode(
+                ProductCursor.encode("name-asc", product), "name-asc");
+        KeysetScrollPosition byPrice = (KeysetScrollPosition) ProductCursor.decode(
+                ProductCursor.encode("price-desc", product), "price-desc");
+
+        assertThat(byName.getKeys()).containsExactly(entry("name", "null: edición 2"), entry("id", 42L));
+        assertThat(byPrice.getKeys()).containsExactly(entry("price", 1500), entry("id", 42L));
+    }
+
+    @Test
+    void nullSortKeysAreNotEncodedAsText() {
+        Product product = Product.builder().id(7L).build();
+
+        assertThatThrownBy(() -> ProductCursor.encode("price-asc", product)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ProductCursor.encode("name-desc", product)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.BulkImportItemDTO;
+import com.neutron.inventory_service.dto.BulkImportResultDTO;
+import com.neutron.inventory_service.dto.ProductCreateDTO;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.repository.projection.ProductAssociationView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Bloques de 3 productos para que la importación use varias transacciones
+@SpringBootTest(properties = "inventory.bulk.chunk-size=3")
+@ActiveProfiles("test")
+class ProductServiceImplBulkTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void reportsEachFailedItemAndCreatesTheRest() {
+        productRepository.save(Product.builder().name("Existente").sku("SKU-BULK-TAKEN").price(100).stock(1).build());
+
+        BulkImportResultDTO result = productService.createProductDTOs(List.of(
+                product("SKU-BULK-1", "Producto 1"),
+                product("SKU-BULK-1", "Producto repetido"),
+                product("SKU-BULK-TAKEN", "Producto con SKU existente"),
+                ProductCreateDTO.builder().sku("SKU-BULK-INVALID").build(),
+                product("SKU-BULK-2", "Producto 2"),
+                product("SKU-BULK-3", "Producto 3")));
+
+        assertThat(result.getTotal()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems()).extracting(BulkImportItemDTO::getIndex, BulkImportItemDTO::isSuccess)
+                .containsExactly(tuple(0, true), tuple(1, false), tuple(2, false), tuple(3, false), tuple(4, true), tuple(5, true));
+        assertThat(result.getItems().get(1).getMessage()).startsWith("SKU repetido en la petición");
+        assertThat(result.getItems().get(2).getMessage()).startsWith("El SKU ya está en uso");
+        assertThat(result.getItems().get(3).getMessage())
+                .contains("El nombre del producto es obligatorio", "El precio es obligatorio");
+
+        assertThat(productRepository.findAllById(List.of(result.getItems().get(0).getId(), result.getItems().get(4).getId(),
+                        result.getItems().get(5).getId())))
+                .extracting(Product::getSku)
+                .containsExactlyInAnyOrder("SKU-BULK-1", "SKU-BULK-2", "SKU-BULK-3");
+    }
+
+    @Test
+    void retriesOneByOneWhenTheDatabaseRejectsAChunk() {
+        // El nombre supera la columna: pasa la validación pero hace fallar el lote JDBC de su bloque
+        BulkImportResultDTO result = productService.createProductDTOs(List.of(
+                product("SKU-RETRY-1", "Producto 1"),
+                product("SKU-RETRY-2", "x".repeat(300)),
+                product("SKU-RETRY-3", "Producto 3"),
+                product("SKU-RETRY-4", "Producto 4")));
+
+        assertThat(result.getItems()).extracting(BulkImportItemDTO::getSku, BulkImportItemDTO::isSuccess)
+                .containsExactly(tuple("SKU-RETRY-1", true), tuple("SKU-RETRY-2", false),
+                        tuple("SKU-RETRY-3", true), tuple("SKU-RETRY-4", true));
+        assertThat(result.getItems().get(1).getMessage()).isNotBlank();
+
+        // Los productos del bloque fallido se crean una sola vez y con sus categorías
+        assertThat(productRepository.count()).isEqualTo(3);
+        assertThat(productRepository.findCategoryNamesByProductIds(List.of(result.getItems().get(2).getId())))
+                .extracting(ProductAssociationView::getName)
+                .containsExactly("importados");
+    }
+
+    private static ProductCreateDTO product(String sku, String name) {
+        return ProductCreateDTO.builder()
+                .name(name)
+                .sku(sku)
+                .brand("Marca")
+                .price(100)
+                .stock(5)
+                .categoryNames(Set.of("importados"))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.dto.ProductDTO;
+import com.neutron.inventory_service.model.Category;
+import com.neutron.inventory_service.model.Product;
+import com.neutron.inventory_service.model.Tag;
+import com.neutron.inventory_service.repository.CategoryRepository;
+import com.neutron.inventory_service.repository.ProductRepository;
+import com.neutron.inventory_service.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Los datos se guardan con JPA y se leen con R2DBC sobre la misma base H2 en memoria
+@SpringBootTest(properties = "inventory.export.chunk-size=" + ReactiveProductServiceImplTest.CHUNK_SIZE)
+@ActiveProfiles("test")
+class ReactiveProductServiceImplTest {
+
+    static final int CHUNK_SIZE = 7;
+    private static final int PRODUCTS = 25;
+
+    @Autowired
+    private ReactiveProductService reactiveProductService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category phones = categoryRepository.save(Category.builder().name("celulares").build());
+        Category audio = categoryRepository.save(Category.builder().name("audio").build());
+        Tag sale = tagRepository.save(Tag.builder().name("oferta").build());
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add(productRepository.save(Product.builder()
+                    .name("Producto " + i)
+                    .sku("SKU-" + i)
+                    .brand("Samsung")
+                    .price(100 + i)
+                    .stock(i)
+                    .weight(1.5)
+                    .categories(i % 2 == 0 ? Set.of(phones, audio) : Set.of(audio))
+                    .tags(i % 3 == 0 ? Set.of(sale) : Set.of())
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    void singleProductReadsMatchJpa() {
+        Long id = ids.get(3);
+        // Fuera de una petición no hay sesión abierta: la lectura JPA de referencia necesita su transacción
+        ProductDTO expected = transactionTemplate.execute(status -> productService.getProductDTOById(id).orElseThrow());
+
+        StepVerifier.create(reactiveProductService.getProductDTOById(id))
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(reactiveProductService.getProductDTOBySku("SKU-3"))
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(reactiveProductService.getProductDTOBySku("NO-EXISTE"))
+                .verifyComplete();
+    }
+
+    @Test
+    void pagedListingsMatchJpa() {
+        Page<ProductDTO> byCategory = reactiveProductService
+                .getProductDTOsByCategoriesIgnoreCaseSorted(List.of("CELULARES"), "price-desc", 1, 5).block();
+        assertThat(byCategory).isNotNull();
+        assertThat(byCategory.getContent()).isEqualTo(transactionTemplate.execute(status -> productService
+                .getProductDTOsByCategoriesIgnoreCaseSorted(List.of("CELULARES"), "price-desc", 1, 5).getContent()));
+        assertThat(byCategory.getTotalElements()).isEqualTo(13);
+
+        Page<ProductDTO> byPrice = reactiveProductService.getProductDTOsByPriceBetween(105, 120, 0, 10, "price-asc").block();
+        assertThat(byPrice).isNotNull();
+        assertThat(byPrice.getContent()).isEqualTo(transactionTemplate.execute(status -> productService
+                .getProductDTOsByPriceBetween(105, 120, 0, 10, "price-asc").getContent()));
+        assertThat(byPrice.getTotalPages()).isEqualTo(2);
+
+        Page<ProductDTO> sorted = reactiveProductService.getProductDTOsSortedByPriceDesc(0, 3).block();
+        assertThat(sorted).isNotNull();
+        assertThat(sorted.getContent()).extracting(ProductDTO::getSku).containsExactly("SKU-24", "SKU-23", "SKU-22");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void byIdsReturnsFoundProductsAndMissingIdsLikeJpa() {
+        List<Long> requested = List.of(ids.get(4), -1L, ids.get(1));
+        Map<String, Object> expected = transactionTemplate.execute(status -> productService.getProductDTOsById(requested).orElseThrow());
+
+        Map<String, Object> response = reactiveProductService.getProductDTOsById(requested).block();
+        assertThat(response).isNotNull();
+        assertThat((List<ProductDTO>) response.get("foundProducts"))
+                .containsExactlyInAnyOrderElementsOf((List<ProductDTO>) expected.get("foundProducts"));
+        assertThat(response.get("notFoundIds")).isEqualTo(expected.get("notFoundIds"));
+
+        StepVerifier.create(reactiveProductService.getProductDTOsById(List.of(-1L, -2L)))
+                .verifyComplete();
+    }
+
+    @Test
+    void brandAndPriceBoundListingsMatchJpa() {
+        Page<ProductDTO> byBrand = reactiveProductService
+                .getProductDTOsByBrandsIgnoreCaseSorted(List.of("samsung"), "price-desc", 1, 5).block();
+        assertThat(byBrand).isNotNull();
+        assertThat(byBrand.getContent()).isEqualTo(transactionTemplate.execute(status -> productService
+                .getProductDTOsByBrandsIgnoreCaseSorted(List.of("samsung"), "price-desc", 1, 5).getContent()));
+        assertThat(byBrand.getTotalElements()).isEqualTo(PRODUCTS);
+
+        Page<ProductDTO> atLeast = reactiveProductService.getProductDTOsByPriceGreaterThanEqual(120, 0, 10, "price-asc").block();
+        assertThat(atLeast).isNotNull();
+        assertThat(atLeast.getContent()).isEqualTo(transactionTemplate.execute(status -> productService
+                .getProductDTOsByPriceGreaterThanEqual(120, 0, 10, "price-asc").getContent()));
+        assertThat(atLeast.getTotalElements()).isEqualTo(5);
+
+        Page<ProductDTO> atMost = reactiveProductService.getProductDTOsByPriceLessThanEqual(104, 0, 3, "name-desc").block();
+        assertThat(atMost).isNotNull();
+        assertThat(atMost.getContent()).isEqualTo(transactionTemplate.execute(status -> productService
+                .getProductDTOsByPriceLessThanEqual(104, 0, 3, "name-desc").getContent()));
+        assertThat(atMost.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void streamsWholeCatalogInIdOrder() {
+        StepVerifier.create(reactiveProductService.streamAllProductDTOs().map(ProductDTO::getId))
+                .expectNextSequence(ids)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamingHonoursDemand() {
+        // Con demanda acotada solo se entregan los productos pedidos, aunque el bloque leído sea mayor
+        StepVerifier.create(reactiveProductService.streamAllProductDTOs(), 3)
+                .expectNextCount(3)
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(CHUNK_SIZE)
+                .expectNextCount(CHUNK_SIZE)
+                .thenCancel()
+                .verify();
+    }
+}
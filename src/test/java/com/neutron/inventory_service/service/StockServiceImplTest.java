@@ -0,0 +1,78 @@
+package com.neutron.inventory_service.service;
+
+import com.neutron.inventory_service.InventoryIntegrationTest;
+import com.neutron.inventory_service.error.InsufficientStockException;
+import com.neutron.inventory_service.error.ProductNotFoundException;
+import com.neutron.inventory_service.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockServiceImplTest extends InventoryIntegrationTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+
+    @Autowired
+    private StockService stockService;
+
+    @Test
+    void concurrentReductionsNeverOversell() throws Exception {
+        Long productId = createProduct(INITIAL_STOCK).getId();
+
+        AtomicInteger reduced = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        stockService.reduceStock(productId, 1);
+                        reduced.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(reduced.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void reduceStockRejectsMissingProductsAndInsufficientStock() {
+        Long productId = createProduct(5).getId();
+
+        assertThatThrownBy(() -> stockService.reduceStock(productId, 6)).isInstanceOf(InsufficientStockException.class);
+        assertThatThrownBy(() -> stockService.reduceStock(-1L, 1)).isInstanceOf(ProductNotFoundException.class);
+
+        stockService.increaseStock(productId, 5);
+        stockService.reduceStock(productId, 10);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+    }
+
+    private Product createProduct(int stock) {
+        return createProduct("SKU-STOCK-" + stock, stock);
+    }
+}
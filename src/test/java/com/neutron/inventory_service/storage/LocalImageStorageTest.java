@@ -0,0 +1,116 @@
+package com.neutron.inventory_service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalImageStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void identicalImagesShareOneFile() throws IOException {
+        LocalImageStorage storage = new LocalImageStorage(directory, Runnable::run, new ImageDerivatives());
+        // Mayor que el búfer de copia para recorrer varios bloques
+        byte[] content = new byte[200_000];
+        new Random(42).nextBytes(content);
+
+        StoredImage first = storage.store(new MockMultipartFile("image", "foto.PNG", "image/png", content)).join();
+        StoredImage second = storage.store(new MockMultipartFile("image", "otra.png", "image/png", content)).join();
+
+        assertThat(first.created()).isTrue();
+        assertThat(second.created()).isFalse();
+        assertThat(second.path()).isEqualTo(first.path()).matches("/images/[0-9a-f]{64}\\.png");
+        assertThat(Files.readAllBytes(directory.resolve(first.path().substring("/images/".length())))).isEqualTo(content);
+        // Ni temporales ni copias (ni versiones reducidas: no es una imagen válida): un único archivo
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void deleteOnlyTouchesFilesInsideTheDirectory() throws IOException {
+        LocalImageStorage storage = new LocalImageStorage(directory.resolve("images"), Runnable::run, new ImageDerivatives());
+        Path outside = Files.writeString(directory.resolve("secreto.txt"), "no borrar");
+
+        StoredImage image = storage.store(new MockMultipartFile("image", "foto", "image/png", new byte[]{1, 2, 3})).join();
+        storage.delete("/images/../secreto.txt");
+        storage.delete(image.path());
+
+        assertThat(outside).exists();
+        try (var files = Files.list(directory.resolve("images"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void generatesReducedVariantsAndDeletesThemWithTheOriginal() throws IOException {
+        LocalImageStorage storage = new LocalImageStorage(directory, Runnable::run, new ImageDerivatives());
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1200, 600, BufferedImage.TYPE_INT_ARGB), "png", png);
+
+        StoredImage image = storage.store(new MockMultipartFile("image", "foto.png", "image/png", png.toByteArray())).join();
+
+        String thumbnail = ImageVariant.THUMBNAIL.path(image.path());
+        String listing = ImageVariant.LISTING.path(image.path());
+        assertThat(thumbnail).isEqualTo(image.path().replace(".png", "-thumb.png"));
+        assertThat(read(thumbnail)).satisfies(variant -> {
+            assertThat(variant.getWidth()).isEqualTo(160);
+            assertThat(variant.getHeight()).isEqualTo(80);
+        });
+        assertThat(read(listing).getWidth()).isEqualTo(480);
+
+        storage.delete(image.path());
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void reusingAnImageKeepsItOutOfTheSweep() throws IOException {
+        LocalImageStorage storage = new LocalImageStorage(directory, Runnable::run, new ImageDerivatives());
+        StoredImage kept = storage.store(new MockMultipartFile("image", "a.png", "image/png", new byte[]{1})).join();
+        StoredImage orphan = storage.store(new MockMultipartFile("image", "b.png", "image/png", new byte[]{2})).join();
+        Instant anHourAgo = Instant.now().minus(Duration.ofHours(1));
+        age(kept, anHourAgo.minusSeconds(60));
+        age(orphan, anHourAgo.minusSeconds(60));
+        Files.writeString(directory.resolve(".upload-1.tmp"), "temporal");
+
+        List<String> candidates = storage.findUnusedSince(anHourAgo);
+        // Una subida idéntica llega entre la búsqueda de candidatas y el borrado
+        storage.store(new MockMultipartFile("image", "otra.png", "image/png", new byte[]{1})).join();
+
+        assertThat(candidates).containsExactlyInAnyOrder(kept.path(), orphan.path());
+        assertThat(storage.deleteIfUnusedSince(kept.path(), anHourAgo)).isFalse();
+        assertThat(storage.deleteIfUnusedSince(orphan.path(), anHourAgo)).isTrue();
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(file -> "/images/" + file.getFileName()))
+                    .containsExactlyInAnyOrder(kept.path(), "/images/.upload-1.tmp");
+        }
+    }
+
+    private void age(StoredImage image, Instant lastUse) throws IOException {
+        Files.setLastModifiedTime(directory.resolve(image.path().substring("/images/".length())), FileTime.from(lastUse));
+    }
+
+    private BufferedImage read(String path) throws IOException {
+        byte[] bytes = Files.readAllBytes(directory.resolve(path.substring("/images/".length())));
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}